@@ -0,0 +1,116 @@
+package by.vstu.zamok.benchmarks;
+
+import by.vstu.zamok.order.dto.AnalyticsGroupDto;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.repository.OrderAggregate;
+import by.vstu.zamok.order.service.AnalyticsGrouping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory part of {@code OrderServiceImpl.analyticsSummary}: folding the GROUP BY rows into
+ * totals, hourly buckets and per-restaurant groups. Row counts match a query over {@code days}
+ * with every status present; rollup and edge rows repeat keys, as they do in the service.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar AnalyticsGrouping}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsGroupingBenchmark {
+
+    private static final int RESTAURANTS = 200;
+
+    @Param({"7", "30"})
+    public int days;
+
+    private List<OrderAggregate> statusRows;
+    private List<OrderAggregate> hourRows;
+    private List<OrderAggregate> restaurantRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 0, 0);
+        OrderStatus[] statuses = OrderStatus.values();
+
+        statusRows = new ArrayList<>();
+        hourRows = new ArrayList<>();
+        restaurantRows = new ArrayList<>();
+        // rollup + две неполные крайние части
+        for (int part = 0; part < 3; part++) {
+            for (OrderStatus status : statuses) {
+                statusRows.add(new Row(status, null, null, 100 + part, 50_000));
+                for (long restaurant = 1; restaurant <= RESTAURANTS; restaurant++) {
+                    restaurantRows.add(new Row(status, restaurant, null, 10 + part, 5_000));
+                }
+            }
+        }
+        for (int hour = 0; hour < days * 24; hour++) {
+            for (OrderStatus status : statuses) {
+                hourRows.add(new Row(status, null, start.plusHours(hour), 3, 1_500));
+            }
+        }
+    }
+
+    @Benchmark
+    public AnalyticsGroupDto total() {
+        return AnalyticsGrouping.total(statusRows);
+    }
+
+    @Benchmark
+    public List<AnalyticsGroupDto> byHour() {
+        return AnalyticsGrouping.byBucket(hourRows);
+    }
+
+    @Benchmark
+    public List<AnalyticsGroupDto> byRestaurant() {
+        return AnalyticsGrouping.byRestaurant(restaurantRows);
+    }
+
+    private record Row(OrderStatus status, Long restaurantId, LocalDateTime bucket, long orders, long amount)
+            implements OrderAggregate {
+
+        @Override
+        public OrderStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public Long getRestaurantId() {
+            return restaurantId;
+        }
+
+        @Override
+        public LocalDateTime getBucket() {
+            return bucket;
+        }
+
+        @Override
+        public long getOrders() {
+            return orders;
+        }
+
+        @Override
+        public long getAmount() {
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package by.vstu.zamok.benchmarks;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.event.OrderCreatedEvent;
+import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import by.vstu.zamok.order.event.avro.AvroEventDeserializer;
+import by.vstu.zamok.order.event.avro.AvroEventSerializer;
+import by.vstu.zamok.order.event.avro.EventCodecs;
+import by.vstu.zamok.order.event.avro.EventSchemaRegistry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one order event on the producer and consumer side: the current JSON path
+ * (Spring JsonSerializer with type headers) against Avro single-object encoding.
+ * Bytes per event, headers included, are printed once per trial.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar OrderEventSerialization}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventSerializationBenchmark {
+
+    private static final String TOPIC = "order-events";
+
+    @Param({"createdV1", "created", "statusChanged"})
+    public String event;
+
+    private Object payload;
+
+    private JsonSerializer<Object> jsonSerializer;
+    private JsonDeserializer<Object> jsonDeserializer;
+    private AvroEventSerializer avroSerializer;
+    private AvroEventDeserializer avroDeserializer;
+
+    private byte[] jsonBytes;
+    private RecordHeaders jsonHeaders;
+    private byte[] avroBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payload = switch (event) {
+            case "createdV1" -> new OrderCreatedEvent(123_456L, 7_890L);
+            case "created" -> new OrderCreatedEvent(OrderCreatedEvent.CURRENT_VERSION, 123_456L, 7_890L, 12L,
+                    OrderStatus.PENDING,
+                    List.of(new OrderCreatedEvent.Item(1_001L, 2, 450), new OrderCreatedEvent.Item(1_002L, 1, 1_200),
+                            new OrderCreatedEvent.Item(1_003L, 3, 300)),
+                    3_000, "CARD", "COMPLETED", LocalDateTime.of(2024, 5, 1, 12, 30), Instant.ofEpochMilli(1_714_566_600_000L));
+            default -> new OrderStatusChangedEvent(123_456L, OrderStatus.READY_FOR_DELIVERY, 7_890L);
+        };
+
+        // как ObjectMapper, который Boot отдаёт Kafka в сервисе: даты строками ISO, а не числами
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        jsonSerializer = new JsonSerializer<>(objectMapper);
+        jsonDeserializer = new JsonDeserializer<>(objectMapper);
+        // заголовки переиспользуются между вызовами, поэтому десериализатор не должен их удалять
+        jsonDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "by.vstu.zamok.order.event",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+
+        EventSchemaRegistry registry = EventSchemaRegistry.fromClasspath();
+        avroSerializer = new AvroEventSerializer(registry, EventCodecs.orderEvents());
+        avroDeserializer = new AvroEventDeserializer(registry, EventCodecs.orderEvents());
+
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, jsonHeaders, payload);
+        avroBytes = avroSerializer.serialize(TOPIC, payload);
+
+        int headerBytes = 0;
+        for (Header header : jsonHeaders) {
+            headerBytes += header.key().length() + header.value().length;
+        }
+        System.out.printf("%n%s bytes/event: json %d (+%d header) = %d, avro %d%n",
+                event, jsonBytes.length, headerBytes, jsonBytes.length + headerBytes, avroBytes.length);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), payload);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] avroSerialize() {
+        return avroSerializer.serialize(TOPIC, payload);
+    }
+
+    @Benchmark
+    public Object avroDeserialize() {
+        return avroDeserializer.deserialize(TOPIC, avroBytes);
+    }
+}
@@ -0,0 +1,98 @@
+package by.vstu.zamok.benchmarks;
+
+import by.vstu.zamok.order.dto.OrderResponseDto;
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderItem;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.entity.Payment;
+import by.vstu.zamok.order.mapper.OrderItemMapperImpl;
+import by.vstu.zamok.order.mapper.OrderMapper;
+import by.vstu.zamok.order.mapper.OrderMapperImpl;
+import by.vstu.zamok.order.mapper.PaymentMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code OrderMapper.toDto} for one order with its items and payment, as done for every
+ * order in a response. The generated mapper is wired by Spring, as in the service.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar OrderMapper}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int items;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderMapper mapper;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(OrderMapperImpl.class, OrderItemMapperImpl.class, PaymentMapperImpl.class);
+        mapper = context.getBean(OrderMapper.class);
+
+        order = new Order();
+        order.setId(123_456L);
+        order.setStatus(OrderStatus.COOKING);
+        order.setOrderDate(LocalDateTime.of(2024, 5, 1, 12, 30));
+        order.setUserId(7_890L);
+        order.setRestaurantId(12L);
+        order.setVersion(3L);
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        int total = 0;
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.setId(1_000L + i);
+            item.setDishId(500L + i);
+            item.setQuantity(1 + i % 3);
+            item.setPrice(250 + 10 * i);
+            item.setOrder(order);
+            orderItems.add(item);
+            total += item.getPrice() * item.getQuantity();
+        }
+        order.setOrderItems(orderItems);
+        order.setTotalPrice(total);
+
+        Payment payment = new Payment();
+        payment.setId(77L);
+        payment.setMethod("CARD");
+        payment.setAmount(total);
+        payment.setStatus("COMPLETED");
+        payment.setOrder(order);
+        order.setPayment(payment);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDto toDto() {
+        return mapper.toDto(order);
+    }
+}
@@ -0,0 +1,89 @@
+package by.vstu.zamok.benchmarks;
+
+import by.vstu.zamok.restaurant.dto.RestaurantDto;
+import by.vstu.zamok.restaurant.entity.Dish;
+import by.vstu.zamok.restaurant.entity.Restaurant;
+import by.vstu.zamok.restaurant.mapper.DishMapperImpl;
+import by.vstu.zamok.restaurant.mapper.RestaurantMapper;
+import by.vstu.zamok.restaurant.mapper.RestaurantMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RestaurantMapper.toDto(List)} with nested dishes, i.e. the body of {@code GET /api/restaurants}.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar RestaurantMapper}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestaurantMapperBenchmark {
+
+    @Param({"20", "200"})
+    public int restaurants;
+
+    @Param({"10", "50"})
+    public int dishes;
+
+    private AnnotationConfigApplicationContext context;
+    private RestaurantMapper mapper;
+    private List<Restaurant> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(RestaurantMapperImpl.class, DishMapperImpl.class);
+        mapper = context.getBean(RestaurantMapper.class);
+
+        entities = new ArrayList<>(restaurants);
+        for (int r = 0; r < restaurants; r++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId((long) r);
+            restaurant.setName("Restaurant " + r);
+            restaurant.setCuisine("Italian");
+            restaurant.setAddress("Main street " + r);
+            List<Dish> menu = new ArrayList<>(dishes);
+            for (int d = 0; d < dishes; d++) {
+                Dish dish = new Dish();
+                dish.setId((long) r * dishes + d);
+                dish.setName("Dish " + d);
+                dish.setDescription("Dish " + d + " of restaurant " + r);
+                dish.setPrice(300 + d);
+                dish.setImageUrl("https://cdn.example/dishes/" + d + ".jpg");
+                dish.setVersion(1L);
+                dish.setRestaurant(restaurant);
+                menu.add(dish);
+            }
+            restaurant.setDishes(menu);
+            entities.add(restaurant);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RestaurantDto> toDtoList() {
+        return mapper.toDto(entities);
+    }
+}
@@ -0,0 +1,67 @@
+package by.vstu.zamok.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Realm-role to authority conversion that runs on every authenticated request: order-service's
+ * {@code KeycloakRoleConverter} and the restaurant-service one (formerly a lambda in its
+ * {@code SecurityConfig}). The token carries the roles Keycloak adds to every realm user.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar RoleConverter}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleConverterBenchmark {
+
+    private Jwt jwt;
+    private by.vstu.zamok.order.config.KeycloakRoleConverter orderConverter;
+    private by.vstu.zamok.restaurant.config.KeycloakRoleConverter restaurantConverter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("5f0c7c1e-8f0a-4c1e-9d0b-3f3c2a1b4d5e")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(300))
+                .claim("email_verified", true)
+                .claim("realm_access", Map.of("roles",
+                        List.of("user", "offline_access", "uma_authorization", "default-roles-rgr")))
+                .build();
+        orderConverter = new by.vstu.zamok.order.config.KeycloakRoleConverter();
+        restaurantConverter = new by.vstu.zamok.restaurant.config.KeycloakRoleConverter();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> orderService() {
+        return orderConverter.convert(jwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> restaurantService() {
+        return restaurantConverter.convert(jwt);
+    }
+}
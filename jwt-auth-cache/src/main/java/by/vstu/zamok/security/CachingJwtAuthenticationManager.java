@@ -0,0 +1,91 @@
+package by.vstu.zamok.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Remembers successful bearer-token authentications, so repeat requests with the same access
+ * token skip decoding, signature verification and authority mapping. Entries are keyed by the
+ * SHA-256 of the token and never outlive its {@code exp}; failures are not cached.
+ * <p>
+ * Wraps the {@code ProviderManager(new JwtAuthenticationProvider(decoder))} that Spring would
+ * otherwise build for {@code oauth2ResourceServer().jwt()}; each service plugs it in through
+ * {@code jwt.authenticationManager(...)} in its own security config.
+ */
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+
+    private final AuthenticationManager delegate;
+    private final Cache<String, JwtAuthenticationToken> cache;
+
+    public CachingJwtAuthenticationManager(AuthenticationManager delegate, Cache<String, JwtAuthenticationToken> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /** Cache whose entries live until the token expires, but at most {@code maxTtl}. */
+    public static Caffeine<String, JwtAuthenticationToken> cacheBuilder(long maximumSize, Duration maxTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, JwtAuthenticationToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtAuthenticationToken authentication, long currentTime) {
+                        Instant expiresAt = authentication.getToken().getExpiresAt();
+                        if (expiresAt == null) {
+                            return maxTtl.toNanos();
+                        }
+                        long left = Duration.between(Instant.now(), expiresAt).toNanos();
+                        return Math.max(0, Math.min(left, maxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtAuthenticationToken authentication, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, authentication, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtAuthenticationToken authentication, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                });
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+        String key = hash(bearer.getToken());
+        JwtAuthenticationToken cached = cache.getIfPresent(key);
+        if (cached == null) {
+            Authentication result = delegate.authenticate(authentication);
+            if (result instanceof JwtAuthenticationToken jwtAuthentication) {
+                cache.put(key, jwtAuthentication);
+            }
+            return result;
+        }
+        // details (адрес клиента и т.п.) у каждого запроса свои
+        JwtAuthenticationToken copy = new JwtAuthenticationToken(cached.getToken(), cached.getAuthorities(), cached.getName());
+        copy.setDetails(bearer.getDetails());
+        return copy;
+    }
+
+    static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package by.vstu.zamok.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class CachingJwtAuthenticationManagerTest {
+
+    private final AtomicInteger decoded = new AtomicInteger();
+    private final Cache<String, JwtAuthenticationToken> cache =
+            CachingJwtAuthenticationManager.cacheBuilder(100, Duration.ofMinutes(5)).build();
+
+    @Test
+    void repeatedTokenIsAuthenticatedOnce() {
+        CachingJwtAuthenticationManager manager = new CachingJwtAuthenticationManager(authenticating(Instant.now().plusSeconds(60)), cache);
+
+        Authentication first = manager.authenticate(bearer("token-a", "10.0.0.1"));
+        Authentication second = manager.authenticate(bearer("token-a", "10.0.0.2"));
+
+        assertEquals(1, decoded.get());
+        assertNotSame(first, second);
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertEquals("user-1", second.getName());
+        // details берутся из текущего запроса, а не из закэшированного
+        assertEquals("10.0.0.2", second.getDetails());
+    }
+
+    @Test
+    void differentTokensAreAuthenticatedSeparately() {
+        CachingJwtAuthenticationManager manager = new CachingJwtAuthenticationManager(authenticating(Instant.now().plusSeconds(60)), cache);
+
+        manager.authenticate(bearer("token-a", null));
+        manager.authenticate(bearer("token-b", null));
+
+        assertEquals(2, decoded.get());
+    }
+
+    @Test
+    void entryDoesNotOutliveToken() {
+        CachingJwtAuthenticationManager manager = new CachingJwtAuthenticationManager(authenticating(Instant.now().minusSeconds(1)), cache);
+
+        manager.authenticate(bearer("token-a", null));
+        manager.authenticate(bearer("token-a", null));
+
+        assertEquals(2, decoded.get());
+    }
+
+    private AuthenticationManager authenticating(Instant expiresAt) {
+        return authentication -> {
+            decoded.incrementAndGet();
+            String token = ((BearerTokenAuthenticationToken) authentication).getToken();
+            Jwt jwt = Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("user-1")
+                    .issuedAt(expiresAt.minusSeconds(300))
+                    .expiresAt(expiresAt)
+                    .build();
+            JwtAuthenticationToken result = new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            result.setDetails(authentication.getDetails());
+            return result;
+        };
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token, Object details) {
+        BearerTokenAuthenticationToken bearer = new BearerTokenAuthenticationToken(token);
+        bearer.setDetails(details);
+        return bearer;
+    }
+}
@@ -0,0 +1,126 @@
+package by.vstu.zamok.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated customer: browses the restaurant list, opens a restaurant and its menu,
+ * sometimes rates it, sometimes orders from it and looks the order up. Runs in a loop on its
+ * own thread until interrupted, so concurrency equals the number of customers.
+ */
+class BrowseRateOrderScenario implements Runnable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final LoadTestMetrics metrics;
+    private final LoadTestSettings settings;
+    private final SeedData.Account account;
+    private final List<SeedData.Restaurant> restaurants;
+
+    BrowseRateOrderScenario(HttpClient client, ObjectMapper mapper, LoadTestMetrics metrics, LoadTestSettings settings,
+                            SeedData.Account account, List<SeedData.Restaurant> restaurants) {
+        this.client = client;
+        this.mapper = mapper;
+        this.metrics = metrics;
+        this.settings = settings;
+        this.account = account;
+        this.restaurants = restaurants;
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SeedData.Restaurant restaurant = restaurants.get(random.nextInt(restaurants.size()));
+                String restaurantPath = "/api/restaurants/" + restaurant.id();
+
+                send("GET /api/restaurants", get(Service.RESTAURANT, "/api/restaurants"));
+                send("GET /api/restaurants/{id}", get(Service.RESTAURANT, restaurantPath));
+                send("GET /api/restaurants/{id}/dishes", get(Service.RESTAURANT, restaurantPath + "/dishes"));
+
+                if (random.nextDouble() < settings.rateRatio()) {
+                    send("POST /api/restaurants/{id}/rating", post(Service.RESTAURANT, restaurantPath + "/rating",
+                            Map.of("score", 1 + random.nextInt(5), "comment", "load test")));
+                }
+                if (random.nextDouble() < settings.orderRatio()) {
+                    HttpRequest order = json(Service.ORDER, "/api/orders", orderBody(restaurant, random))
+                            .header("Idempotency-Key", UUID.randomUUID().toString())
+                            .build();
+                    HttpResponse<String> placed = send("POST /api/orders", order);
+                    if (placed != null && placed.statusCode() == 201) {
+                        long orderId = mapper.readTree(placed.body()).get("id").asLong();
+                        send("GET /api/orders/{id}", get(Service.ORDER, "/api/orders/" + orderId));
+                    }
+                }
+                if (!settings.thinkTime().isZero()) {
+                    Thread.sleep(settings.thinkTime().toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response body", e);
+        }
+    }
+
+    private Map<String, Object> orderBody(SeedData.Restaurant restaurant, ThreadLocalRandom random) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        List<Long> dishes = restaurant.dishIds();
+        int count = 1 + random.nextInt(Math.min(3, dishes.size()));
+        int first = random.nextInt(dishes.size());
+        for (int i = 0; i < count; i++) {
+            items.add(Map.of("dishId", dishes.get((first + i) % dishes.size()), "quantity", 1 + random.nextInt(2)));
+        }
+        return Map.of(
+                "restaurantId", restaurant.id(),
+                "items", items,
+                "paymentMethod", random.nextBoolean() ? "CARD" : "CASH");
+    }
+
+    /** Sends and records the latency under the endpoint template; {@code null} when no response arrived. */
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            metrics.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            metrics.record(endpoint, System.nanoTime() - start, EndpointStats.NO_RESPONSE);
+            return null;
+        }
+    }
+
+    private HttpRequest get(Service service, String path) {
+        return request(service, path).GET().build();
+    }
+
+    private HttpRequest post(Service service, String path, Object body) throws IOException {
+        return json(service, path, body).build();
+    }
+
+    private HttpRequest.Builder json(Service service, String path, Object body) throws IOException {
+        return request(service, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder request(Service service, String path) {
+        return HttpRequest.newBuilder(URI.create(service.baseUrl() + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + account.token());
+    }
+}
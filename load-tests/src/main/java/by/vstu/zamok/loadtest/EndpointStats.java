@@ -0,0 +1,61 @@
+package by.vstu.zamok.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint template (e.g. {@code GET /api/restaurants/{id}}).
+ */
+class EndpointStats {
+
+    /** Status recorded when the request failed before a response arrived (timeout, refused connection). */
+    static final int NO_RESPONSE = 0;
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, int status) {
+        // всё, что дольше минуты, всё равно регрессия; не даём гистограмме упасть
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status == NO_RESPONSE || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    long requests() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
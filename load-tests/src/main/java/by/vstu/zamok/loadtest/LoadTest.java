@@ -0,0 +1,123 @@
+package by.vstu.zamok.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test. Starts the local stand-ins (JWT issuer, embedded Kafka, fresh Postgres
+ * databases), boots user-, restaurant- and order-service from their jars, seeds accounts and
+ * a catalog, runs {@link BrowseRateOrderScenario} with {@code loadtest.concurrency} customers
+ * and reports throughput and latency percentiles per endpoint.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Path runDirectory = settings.output().resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(runDirectory);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper mapper = new ObjectMapper();
+        Duration tokenLifetime = settings.startupTimeout().multipliedBy(3)
+                .plus(settings.warmup()).plus(settings.duration()).plusMinutes(10);
+
+        Deque<AutoCloseable> resources = new ArrayDeque<>();
+        LoadTestReport report;
+        try {
+            LocalJwtIssuer issuer = new LocalJwtIssuer();
+            resources.push(issuer);
+            EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1);
+            kafka.afterPropertiesSet();
+            resources.push(kafka::destroy);
+            LocalDatabases databases = new LocalDatabases(settings);
+            for (Service service : Service.values()) {
+                databases.recreate(service);
+            }
+            System.out.println("JWT issuer " + issuer.issuerUri() + ", Kafka " + kafka.getBrokersAsString()
+                    + ", logs in " + settings.output().resolve("logs"));
+
+            ServiceProcess users = ServiceProcess.start(Service.USER, settings, commonArgs(Service.USER, databases, issuer, kafka));
+            resources.push(users);
+            ServiceProcess restaurants = ServiceProcess.start(Service.RESTAURANT, settings, commonArgs(Service.RESTAURANT, databases, issuer, kafka));
+            resources.push(restaurants);
+            users.awaitReady(client, settings.startupTimeout());
+            restaurants.awaitReady(client, settings.startupTimeout());
+
+            String adminToken = issuer.token(UUID.randomUUID().toString(), null, List.of("admin"), tokenLifetime);
+            SeedData seed = new SeedData(
+                    SeedData.seedAccounts(databases, issuer, settings.users(), tokenLifetime),
+                    SeedData.seedRestaurants(client, mapper, adminToken, settings.restaurants(), settings.dishesPerRestaurant()));
+
+            // order-service грузит каталог цен при старте, поэтому поднимаем его после наполнения
+            List<String> orderArgs = commonArgs(Service.ORDER, databases, issuer, kafka);
+            orderArgs.add("--user.service.url=" + Service.USER.baseUrl());
+            orderArgs.add("--restaurant.service.url=" + Service.RESTAURANT.baseUrl());
+            ServiceProcess orders = ServiceProcess.start(Service.ORDER, settings, orderArgs);
+            resources.push(orders);
+            orders.awaitReady(client, settings.startupTimeout());
+
+            report = run(settings, client, mapper, seed);
+        } finally {
+            while (!resources.isEmpty()) {
+                resources.pop().close();
+            }
+        }
+
+        report.print(System.out);
+        report.write(runDirectory);
+        System.out.println("Report: " + runDirectory);
+        if (settings.baseline() != null) {
+            List<String> regressions = report.regressions(settings.baseline(), settings.maxRegression());
+            if (!regressions.isEmpty()) {
+                throw new IllegalStateException("Regressed against " + settings.baseline() + ":\n  " + String.join("\n  ", regressions));
+            }
+        }
+    }
+
+    private static LoadTestReport run(LoadTestSettings settings, HttpClient client, ObjectMapper mapper, SeedData seed)
+            throws InterruptedException {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        ExecutorService customers = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            SeedData.Account account = seed.accounts().get(i % seed.accounts().size());
+            customers.execute(new BrowseRateOrderScenario(client, mapper, metrics, settings, account, seed.restaurants()));
+        }
+        System.out.println(settings.concurrency() + " customers, warm-up " + settings.warmup() + ", measuring " + settings.duration());
+
+        Thread.sleep(settings.warmup().toMillis());
+        metrics.startRecording();
+        Thread.sleep(settings.duration().toMillis());
+        metrics.stopRecording();
+
+        customers.shutdownNow();
+        customers.awaitTermination(1, TimeUnit.MINUTES);
+        return new LoadTestReport(metrics);
+    }
+
+    private static List<String> commonArgs(Service service, LocalDatabases databases, LocalJwtIssuer issuer, EmbeddedKafkaKraftBroker kafka) {
+        return new ArrayList<>(List.of(
+                "--spring.datasource.url=" + databases.url(service),
+                "--spring.datasource.username=" + databases.user(),
+                "--spring.datasource.password=" + databases.password(),
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.issuerUri(),
+                "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString()));
+    }
+}
@@ -0,0 +1,41 @@
+package by.vstu.zamok.loadtest;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-endpoint statistics of the measured window. Requests completed during warm-up are
+ * sent but not recorded, so JIT compilation and pool fill-up do not skew the percentiles.
+ */
+class LoadTestMetrics {
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    void startRecording() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    void record(String endpoint, long nanos, int status) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, EndpointStats::new).record(nanos, status);
+        }
+    }
+
+    Collection<EndpointStats> endpoints() {
+        return endpoints.values();
+    }
+
+    double elapsedSeconds() {
+        return (stoppedAt - startedAt) / 1e9;
+    }
+}
@@ -0,0 +1,123 @@
+package by.vstu.zamok.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints the per-endpoint table and writes it to {@code summary.csv}, plus one HdrHistogram
+ * percentile file per endpoint ({@code *.hgrm}, loadable in the HdrHistogram plotter).
+ * A previous {@code summary.csv} can be given as baseline to fail the run on regressions.
+ */
+class LoadTestReport {
+
+    private static final String HEADER = "endpoint,requests,errors,rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private final List<EndpointStats> endpoints;
+    private final List<Row> rows;
+
+    LoadTestReport(LoadTestMetrics metrics) {
+        double seconds = metrics.elapsedSeconds();
+        endpoints = metrics.endpoints().stream()
+                .sorted(Comparator.comparing(EndpointStats::name))
+                .toList();
+        rows = endpoints.stream()
+                .map(stats -> Row.of(stats, seconds))
+                .toList();
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows) {
+            out.printf(Locale.ROOT, "%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.endpoint, row.requests, row.errors, row.rps, row.p50, row.p90, row.p99, row.p999, row.max);
+        }
+        for (EndpointStats stats : endpoints) {
+            if (stats.errors() > 0) {
+                out.println("  " + stats.name() + " statuses: " + stats.statuses() + " (0 = no response)");
+            }
+        }
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        rows.forEach(row -> lines.add(row.csv()));
+        Files.write(directory.resolve("summary.csv"), lines, StandardCharsets.UTF_8);
+
+        for (EndpointStats stats : endpoints) {
+            String file = stats.name().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(file)), false, StandardCharsets.UTF_8)) {
+                // значения в микросекундах, в файле — миллисекунды
+                stats.latency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    /**
+     * Compares against a baseline {@code summary.csv}: an endpoint regresses when its throughput
+     * drops or its p99 grows by more than {@code tolerance} (0.25 = 25%).
+     */
+    List<String> regressions(Path baseline, double tolerance) throws IOException {
+        Map<String, Row> previous = new HashMap<>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            if (!line.isBlank() && !line.equals(HEADER)) {
+                Row row = Row.parse(line);
+                previous.put(row.endpoint, row);
+            }
+        }
+        List<String> regressions = new ArrayList<>();
+        for (Row row : rows) {
+            Row base = previous.get(row.endpoint);
+            if (base == null) {
+                continue;
+            }
+            if (row.rps < base.rps * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f rps, baseline %.1f", row.endpoint, row.rps, base.rps));
+            }
+            if (row.p99 > base.p99 * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: p99 %.2f ms, baseline %.2f", row.endpoint, row.p99, base.p99));
+            }
+        }
+        return regressions;
+    }
+
+    private record Row(String endpoint, long requests, long errors, double rps,
+                       double p50, double p90, double p99, double p999, double max) {
+
+        static Row of(EndpointStats stats, double seconds) {
+            Histogram h = stats.latency();
+            return new Row(stats.name(), stats.requests(), stats.errors(), stats.requests() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+        }
+
+        static Row parse(String line) {
+            String[] f = line.split(",");
+            return new Row(f[0], Long.parseLong(f[1]), Long.parseLong(f[2]), Double.parseDouble(f[3]),
+                    Double.parseDouble(f[4]), Double.parseDouble(f[5]), Double.parseDouble(f[6]),
+                    Double.parseDouble(f[7]), Double.parseDouble(f[8]));
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    endpoint, requests, errors, rps, p50, p90, p99, p999, max);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package by.vstu.zamok.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Run parameters, read from {@code -Dloadtest.*} system properties so one command line
+ * describes the whole run (see README, "Load tests").
+ */
+record LoadTestSettings(
+        Path root,
+        Path output,
+        String java,
+        List<String> jvmArgs,
+        String profiles,
+        String postgresUrl,
+        String postgresUser,
+        String postgresPassword,
+        int users,
+        int restaurants,
+        int dishesPerRestaurant,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        double rateRatio,
+        double orderRatio,
+        Duration startupTimeout,
+        Path baseline,
+        double maxRegression) {
+
+    static LoadTestSettings fromSystemProperties() {
+        Path root = Path.of(property("root", ".")).toAbsolutePath().normalize();
+        String baseline = property("baseline", "");
+        return new LoadTestSettings(
+                root,
+                Path.of(property("output", root.resolve("load-tests/target/load-test").toString())),
+                property("java", Path.of(System.getProperty("java.home"), "bin", "java").toString()),
+                split(property("jvm-args", "-Xmx1g")),
+                property("profiles", ""),
+                property("postgres.url", "jdbc:postgresql://localhost:5432/postgres"),
+                property("postgres.user", "user"),
+                property("postgres.password", "password"),
+                Integer.parseInt(property("users", "200")),
+                Integer.parseInt(property("restaurants", "20")),
+                Integer.parseInt(property("dishes", "10")),
+                Integer.parseInt(property("concurrency", "200")),
+                duration(property("warmup", "30s")),
+                duration(property("duration", "2m")),
+                duration(property("think-time", "0ms")),
+                Double.parseDouble(property("rate-ratio", "0.2")),
+                Double.parseDouble(property("order-ratio", "0.3")),
+                duration(property("startup-timeout", "3m")),
+                baseline.isBlank() ? null : Path.of(baseline),
+                Double.parseDouble(property("max-regression", "0.25")));
+    }
+
+    Path jar(Service service) {
+        return Path.of(property(service.key() + ".jar", root.resolve(service.defaultJar()).toString()));
+    }
+
+    /** Extra {@code --key=value} arguments for one service, e.g. {@code -Dloadtest.order.args=--user.service.id-resolution=claim}. */
+    List<String> serviceArgs(Service service) {
+        return split(property(service.key() + ".args", ""));
+    }
+
+    static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : new ArrayList<>(Arrays.asList(value.trim().split("\\s+")));
+    }
+
+    // тот же формат, что и в application.yml: 500ms, 30s, 2m, 1h
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+}
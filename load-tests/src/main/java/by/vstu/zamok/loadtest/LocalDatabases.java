@@ -0,0 +1,59 @@
+package by.vstu.zamok.loadtest;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+/**
+ * Creates an empty database per service on a local Postgres before the run. Liquibase in each
+ * service then builds the schema, exactly as in production; H2 is not an option because the
+ * changesets use Postgres-only SQL.
+ */
+class LocalDatabases {
+
+    private final String maintenanceUrl;
+    private final String user;
+    private final String password;
+
+    LocalDatabases(LoadTestSettings settings) {
+        this.maintenanceUrl = settings.postgresUrl();
+        this.user = settings.postgresUser();
+        this.password = settings.postgresPassword();
+    }
+
+    void recreate(Service service) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(maintenanceUrl, user, password);
+             Statement statement = connection.createStatement()) {
+            // FORCE обрывает соединения, оставшиеся от прерванного прогона
+            statement.execute("DROP DATABASE IF EXISTS " + service.database() + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + service.database());
+        }
+    }
+
+    String url(Service service) {
+        URI uri = URI.create(maintenanceUrl.substring("jdbc:".length()));
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (uri.getRawQuery() != null) {
+            query.add(uri.getRawQuery());
+        }
+        if (!service.jdbcParameters().isEmpty()) {
+            query.add(service.jdbcParameters());
+        }
+        return "jdbc:" + uri.getScheme() + "://" + uri.getRawAuthority() + "/" + service.database() + query;
+    }
+
+    Connection connect(Service service) throws SQLException {
+        return DriverManager.getConnection(url(service), user, password);
+    }
+
+    String user() {
+        return user;
+    }
+
+    String password() {
+        return password;
+    }
+}
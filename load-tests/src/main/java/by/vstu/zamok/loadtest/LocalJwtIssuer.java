@@ -0,0 +1,121 @@
+package by.vstu.zamok.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stands in for the Keycloak realm: serves OIDC discovery and the JWKS that the services
+ * resolve from {@code issuer-uri}, and signs access tokens with the same claims Keycloak puts
+ * there ({@code realm_access.roles}, {@code email_verified}, {@code user_id}).
+ */
+class LocalJwtIssuer implements AutoCloseable {
+
+    private static final String REALM_PATH = "/realms/loadtest";
+    private static final String CERTS_PATH = REALM_PATH + "/protocol/openid-connect/certs";
+
+    private final HttpServer server;
+    private final RSAKey key;
+    private final JWSHeader header;
+    private final String issuer;
+
+    LocalJwtIssuer() {
+        try {
+            key = new RSAKeyGenerator(2048).keyID("loadtest").keyUse(KeyUse.SIGNATURE).generate();
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to generate the signing key", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the JWT issuer", e);
+        }
+        header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build();
+        issuer = "http://localhost:" + server.getAddress().getPort() + REALM_PATH;
+
+        ObjectMapper mapper = new ObjectMapper();
+        byte[] discovery = json(mapper, Map.of(
+                "issuer", issuer,
+                "jwks_uri", "http://localhost:" + server.getAddress().getPort() + CERTS_PATH,
+                "authorization_endpoint", issuer + "/protocol/openid-connect/auth",
+                "token_endpoint", issuer + "/protocol/openid-connect/token",
+                "subject_types_supported", List.of("public"),
+                "response_types_supported", List.of("code"),
+                "id_token_signing_alg_values_supported", List.of("RS256")));
+        byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        server.createContext(REALM_PATH + "/.well-known/openid-configuration", exchange -> respond(exchange, discovery));
+        server.createContext(CERTS_PATH, exchange -> respond(exchange, jwks));
+        server.start();
+    }
+
+    String issuerUri() {
+        return issuer;
+    }
+
+    /**
+     * @param subject Keycloak user id ({@code sub}), also the key user-service looks users up by
+     * @param userId  user-service id for the {@code user_id} claim, or {@code null} for accounts without a profile
+     */
+    String token(String subject, Long userId, List<String> roles, Duration lifetime) {
+        Instant now = Instant.now();
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(subject)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(lifetime)))
+                .claim("azp", "rgr-app")
+                .claim("email_verified", true)
+                .claim("realm_access", Map.of("roles", roles));
+        if (userId != null) {
+            claims.claim("user_id", userId);
+        }
+        SignedJWT jwt = new SignedJWT(header, claims.build());
+        try {
+            jwt.sign(new RSASSASigner(key));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign a token", e);
+        }
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] json(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package by.vstu.zamok.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Accounts and catalog the scenario runs against. Users go straight into user-service's table
+ * (registration would need Keycloak), restaurants and dishes through the restaurant-service
+ * admin API so that {@code dish-changed} events and the order-service price replica see them.
+ */
+record SeedData(List<Account> accounts, List<Restaurant> restaurants) {
+
+    record Account(String keycloakId, long userId, String token) {
+    }
+
+    record Restaurant(long id, List<Long> dishIds) {
+    }
+
+    static List<Account> seedAccounts(LocalDatabases databases, LocalJwtIssuer issuer, int count, Duration tokenLifetime) throws SQLException {
+        List<Account> accounts = new ArrayList<>(count);
+        try (Connection connection = databases.connect(Service.USER);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO user_schema.users (email, password_hash, full_name, keycloak_id, created_at, updated_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?) RETURNING id")) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < count; i++) {
+                String keycloakId = UUID.randomUUID().toString();
+                insert.setString(1, "load" + i + "@loadtest.local");
+                insert.setString(2, "-");
+                insert.setString(3, "Load User " + i);
+                insert.setString(4, keycloakId);
+                insert.setObject(5, now);
+                insert.setObject(6, now);
+                try (ResultSet rs = insert.executeQuery()) {
+                    rs.next();
+                    long userId = rs.getLong(1);
+                    accounts.add(new Account(keycloakId, userId, issuer.token(keycloakId, userId, List.of("user"), tokenLifetime)));
+                }
+            }
+        }
+        return accounts;
+    }
+
+    static List<Restaurant> seedRestaurants(HttpClient client, ObjectMapper mapper, String adminToken,
+                                            int restaurants, int dishesPerRestaurant) throws IOException, InterruptedException {
+        List<Restaurant> seeded = new ArrayList<>(restaurants);
+        for (int r = 0; r < restaurants; r++) {
+            long restaurantId = post(client, mapper, adminToken, "/api/restaurants", Map.of(
+                    "name", "Load Restaurant " + r,
+                    "cuisine", r % 2 == 0 ? "Italian" : "Georgian",
+                    "address", "Load street " + r)).get("id").asLong();
+            List<Long> dishIds = new ArrayList<>(dishesPerRestaurant);
+            for (int d = 0; d < dishesPerRestaurant; d++) {
+                dishIds.add(post(client, mapper, adminToken, "/api/restaurants/" + restaurantId + "/dishes", Map.of(
+                        "name", "Dish " + r + "-" + d,
+                        "description", "Load test dish",
+                        "price", 300 + 50 * d,
+                        "restaurantId", restaurantId)).get("id").asLong());
+            }
+            seeded.add(new Restaurant(restaurantId, List.copyOf(dishIds)));
+        }
+        return seeded;
+    }
+
+    private static JsonNode post(HttpClient client, ObjectMapper mapper, String token, String path, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(Service.RESTAURANT.baseUrl() + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return mapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,49 @@
+package by.vstu.zamok.loadtest;
+
+/**
+ * The services under test, with the ports they already use in docker-compose.
+ */
+enum Service {
+
+    USER("user", 8084, "user-service/target/user-service-0.0.1-SNAPSHOT.jar", ""),
+    RESTAURANT("restaurant", 8081, "restaurant-service/target/restaurant-service-0.0.1-SNAPSHOT-exec.jar", ""),
+    ORDER("order", 8082, "order-service/target/order-service-0.0.1-SNAPSHOT-exec.jar", "reWriteBatchedInserts=true");
+
+    private final String key;
+    private final int defaultPort;
+    private final String defaultJar;
+    private final String jdbcParameters;
+
+    Service(String key, int defaultPort, String defaultJar, String jdbcParameters) {
+        this.key = key;
+        this.defaultPort = defaultPort;
+        this.defaultJar = defaultJar;
+        this.jdbcParameters = jdbcParameters;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String defaultJar() {
+        return defaultJar;
+    }
+
+    int port() {
+        return Integer.parseInt(LoadTestSettings.property(key + ".port", String.valueOf(defaultPort)));
+    }
+
+    /** Driver parameters the service sets in its own datasource URL. */
+    String jdbcParameters() {
+        return jdbcParameters;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    /** Scratch database created for each run, so results do not depend on what is left in the dev databases. */
+    String database() {
+        return "loadtest_" + key;
+    }
+}
@@ -0,0 +1,88 @@
+package by.vstu.zamok.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One service started from its Spring Boot jar in a separate JVM. The services cannot share
+ * a JVM: they are built on different Boot versions and each ships its own {@code application.yml}
+ * and changelog under the same classpath names.
+ */
+class ServiceProcess implements AutoCloseable {
+
+    private final Service service;
+    private final Process process;
+    private final Path log;
+
+    private ServiceProcess(Service service, Process process, Path log) {
+        this.service = service;
+        this.process = process;
+        this.log = log;
+    }
+
+    static ServiceProcess start(Service service, LoadTestSettings settings, List<String> args) throws IOException {
+        Path jar = settings.jar(service);
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("No jar for " + service.key() + "-service at " + jar
+                    + "; run `mvn -DskipTests package` first or set -Dloadtest." + service.key() + ".jar");
+        }
+        Path log = settings.output().resolve("logs").resolve(service.key() + "-service.log");
+        Files.createDirectories(log.getParent());
+
+        List<String> command = new ArrayList<>();
+        command.add(settings.java());
+        command.addAll(settings.jvmArgs());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + service.port());
+        if (!settings.profiles().isBlank()) {
+            command.add("--spring.profiles.active=" + settings.profiles());
+        }
+        command.addAll(args);
+        command.addAll(settings.serviceArgs(service));
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new ServiceProcess(service, process, log);
+    }
+
+    /** Waits until Tomcat answers; Boot starts the connector only after the context is refreshed. */
+    void awaitReady(HttpClient client, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(service.baseUrl() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service.key() + "-service exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                // ещё не слушает порт
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(service.key() + "-service did not start within " + timeout + ", see " + log);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package by.vstu.zamok.order.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk-loads the price catalog from restaurant-service at startup and then periodically,
+ * which also repairs anything missed while the event listener was down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DishCatalogLoader {
+
+    private final RestTemplate restTemplate;
+    private final DishPriceCatalog catalog;
+
+    @Value("${restaurant.service.url}")
+    private String restaurantServiceUrl;
+
+    @Value("${restaurant.catalog.page-size:1000}")
+    private int pageSize;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${restaurant.catalog.resync-interval:10m}")
+    public void reload() {
+        try {
+            Map<Long, DishPrice> before = catalog.snapshot();
+            Set<Long> seen = new HashSet<>();
+            long afterId = 0;
+            DishPrice[] page;
+            do {
+                page = fetchPage(afterId);
+                for (DishPrice dishPrice : page) {
+                    catalog.apply(dishPrice);
+                    seen.add(dishPrice.dishId());
+                    afterId = dishPrice.dishId();
+                }
+                // сервер может урезать limit (restaurant-service отдаёт не больше 5000), поэтому конец — только пустая страница
+            } while (page.length > 0);
+            catalog.retainLoaded(before, seen);
+            catalog.markLoaded();
+        } catch (Exception e) {
+            log.warn("Failed to load dish catalog from restaurant-service", e);
+        }
+    }
+
+    private DishPrice[] fetchPage(long afterId) {
+        String url = UriComponentsBuilder.fromUriString(restaurantServiceUrl)
+                .path("/api/dishes/catalog")
+                .queryParam("afterId", afterId)
+                .queryParam("limit", pageSize)
+                .toUriString();
+        DishPrice[] page = restTemplate.getForObject(url, DishPrice[].class);
+        return page == null ? new DishPrice[0] : page;
+    }
+}
@@ -0,0 +1,7 @@
+package by.vstu.zamok.order.catalog;
+
+public class DishCatalogUnavailableException extends RuntimeException {
+    public DishCatalogUnavailableException(String message) {
+        super(message);
+    }
+}
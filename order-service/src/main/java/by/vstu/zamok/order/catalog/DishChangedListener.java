@@ -0,0 +1,28 @@
+package by.vstu.zamok.order.catalog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies dish changes from restaurant-service. Every instance needs every event, so each one
+ * joins with its own consumer group and starts from the latest offset (the bulk load covers the past).
+ */
+@Component
+@RequiredArgsConstructor
+public class DishChangedListener {
+
+    private final DishPriceCatalog catalog;
+
+    @KafkaListener(
+            topics = "${restaurant.kafka.dish-topic:dish-changed}",
+            groupId = "order-service-catalog-${random.uuid}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.use.type.headers=false",
+                    "spring.json.value.default.type=by.vstu.zamok.order.catalog.DishPrice"
+            })
+    public void onDishChanged(DishPrice dishPrice) {
+        catalog.apply(dishPrice);
+    }
+}
@@ -0,0 +1,8 @@
+package by.vstu.zamok.order.catalog;
+
+/**
+ * Price of a dish as published by restaurant-service, both in {@code GET /api/dishes/catalog}
+ * and in dish-changed events. {@code deleted} marks a tombstone.
+ */
+public record DishPrice(Long dishId, Long restaurantId, int price, long version, boolean deleted) {
+}
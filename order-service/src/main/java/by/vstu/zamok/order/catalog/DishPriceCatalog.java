@@ -0,0 +1,69 @@
+package by.vstu.zamok.order.catalog;
+
+import by.vstu.zamok.order.exception.InvalidRequestException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local read-only replica of dish prices. Filled by {@link DishCatalogLoader} (bulk) and
+ * {@link DishChangedListener} (events); whichever brings the higher version wins, so the two
+ * sources may race freely. Orders are priced from here without calling restaurant-service.
+ */
+@Component
+public class DishPriceCatalog {
+
+    private final Map<Long, DishPrice> prices = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public DishPriceCatalog(MeterRegistry meterRegistry) {
+        Gauge.builder("order.dish.catalog.size", prices, Map::size)
+                .description("Dishes in the local price replica")
+                .register(meterRegistry);
+    }
+
+    public void apply(DishPrice dishPrice) {
+        prices.merge(dishPrice.dishId(), dishPrice,
+                (current, incoming) -> incoming.version() > current.version() ? incoming : current);
+    }
+
+    /**
+     * Price of a dish on the menu of the given restaurant.
+     *
+     * @throws DishCatalogUnavailableException if the catalog has not been loaded yet
+     * @throws InvalidRequestException if the dish is unknown, deleted or belongs to another restaurant
+     */
+    public DishPrice require(Long dishId, Long restaurantId) {
+        if (!loaded) {
+            throw new DishCatalogUnavailableException("Dish catalog is not loaded yet");
+        }
+        DishPrice dishPrice = prices.get(dishId);
+        if (dishPrice == null || dishPrice.deleted() || !dishPrice.restaurantId().equals(restaurantId)) {
+            throw new InvalidRequestException("Dish " + dishId + " is not on the menu of restaurant " + restaurantId);
+        }
+        return dishPrice;
+    }
+
+    Map<Long, DishPrice> snapshot() {
+        return Map.copyOf(prices);
+    }
+
+    /**
+     * Drops dishes that a full reload did not return, unless an event changed them meanwhile.
+     */
+    void retainLoaded(Map<Long, DishPrice> before, Set<Long> seen) {
+        before.forEach((dishId, dishPrice) -> {
+            if (!seen.contains(dishId)) {
+                prices.remove(dishId, dishPrice);
+            }
+        });
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+}
@@ -0,0 +1,25 @@
+package by.vstu.zamok.order.client;
+
+import java.time.Duration;
+
+/**
+ * Cached keycloakId -> userId mapping. A {@code null} userId marks a user-service 404 (negative entry).
+ */
+public record CachedUserId(Long userId, long loadedAtNanos) {
+
+    public static CachedUserId of(Long userId) {
+        return new CachedUserId(userId, System.nanoTime());
+    }
+
+    public static CachedUserId missing() {
+        return new CachedUserId(null, System.nanoTime());
+    }
+
+    public boolean isMissing() {
+        return userId == null;
+    }
+
+    public boolean isOlderThan(Duration age) {
+        return System.nanoTime() - loadedAtNanos > age.toNanos();
+    }
+}
@@ -0,0 +1,28 @@
+package by.vstu.zamok.order.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user.service.cache")
+public class UserIdCacheProperties {
+    /** Disable to call user-service on every request */
+    private boolean enabled = true;
+
+    /** Upper bound on cached keycloakId entries */
+    private long maximumSize = 10_000;
+
+    /** How long a resolved userId is kept */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /** Entries older than this are reloaded in the background on the next hit */
+    private Duration refreshAfter = Duration.ofMinutes(20);
+
+    /** How long a user-service 404 is remembered */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /** Threads used for refresh-ahead reloads */
+    private int refreshThreads = 2;
+}
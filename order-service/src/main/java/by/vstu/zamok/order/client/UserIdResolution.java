@@ -0,0 +1,8 @@
+package by.vstu.zamok.order.client;
+
+public enum UserIdResolution {
+    /** GET /api/users/by-keycloak-id/{id} through the local cache */
+    HTTP,
+    /** Numeric user-service id from the access token, HTTP lookup only when the claim is missing */
+    CLAIM
+}
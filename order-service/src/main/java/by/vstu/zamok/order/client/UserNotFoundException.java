@@ -0,0 +1,15 @@
+package by.vstu.zamok.order.client;
+
+import by.vstu.zamok.order.exception.ResourceNotFoundException;
+
+// user-service ответил, что пользователя нет (в отличие от недоступности сервиса)
+public class UserNotFoundException extends ResourceNotFoundException {
+
+    public UserNotFoundException(String keycloakId) {
+        super("User not found in user-service for keycloakId: " + keycloakId);
+    }
+
+    public UserNotFoundException(String keycloakId, Throwable cause) {
+        super("User not found in user-service for keycloakId: " + keycloakId, cause);
+    }
+}
@@ -1,56 +1,110 @@
 package by.vstu.zamok.order.client;
 
-import by.vstu.zamok.order.dto.UserDto;
-import by.vstu.zamok.order.exception.ResourceNotFoundException;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the user-service id of the caller. In {@link UserIdResolution#CLAIM} mode the id is read from the token;
+ * otherwise (or when the claim is absent) lookups go through a local keycloakId -> userId cache and
+ * user-service is only called on a miss or, in the background, when an entry is due for refresh.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserServiceClient {
 
-    private final RestTemplate restTemplate;
+    private final UserServiceHttpClient userServiceHttpClient;
+    private final Cache<String, CachedUserId> userIdCache;
+    private final UserIdCacheProperties cacheProperties;
+    private final ThreadPoolTaskExecutor userIdRefreshExecutor;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Value("${user.service.id-resolution:http}")
+    private UserIdResolution idResolution;
 
-    @Value("${user.service.url}")
-    private String userServiceUrl;
+    @Value("${user.service.id-claim:user_id}")
+    private String idClaim;
 
-    @Retry(name = "userService", fallbackMethod = "userFallback")
-    @CircuitBreaker(name = "userService", fallbackMethod = "userFallback")
     public Long resolveUserId(JwtAuthenticationToken authentication) {
+        if (idResolution == UserIdResolution.CLAIM) {
+            Long fromClaim = userIdFromClaim(authentication.getToken());
+            if (fromClaim != null) {
+                return fromClaim;
+            }
+        }
+
         String keycloakId = authentication.getToken().getSubject();
         String bearer = authentication.getToken().getTokenValue();
 
-        String url = userServiceUrl + "/api/users/by-keycloak-id/" + keycloakId;
+        if (!cacheProperties.isEnabled()) {
+            return userServiceHttpClient.fetchUserId(keycloakId, bearer);
+        }
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(bearer);
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<UserDto> response = restTemplate.exchange(url, HttpMethod.GET, entity, UserDto.class);
-            UserDto user = response.getBody();
-            if (user == null || user.getId() == null) {
-                throw new ResourceNotFoundException("User not found in user-service for keycloakId: " + keycloakId);
+        CachedUserId cached = userIdCache.getIfPresent(keycloakId);
+        if (cached == null) {
+            // Concurrent misses for the same keycloakId wait for a single user-service call
+            cached = userIdCache.get(keycloakId, id -> load(id, bearer));
+        } else if (!cached.isMissing() && cached.isOlderThan(cacheProperties.getRefreshAfter())) {
+            refreshAsync(keycloakId, bearer);
+        }
+
+        if (cached.isMissing()) {
+            throw new UserNotFoundException(keycloakId);
+        }
+        return cached.userId();
+    }
+
+    private Long userIdFromClaim(Jwt jwt) {
+        Object claim = jwt.getClaims().get(idClaim);
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        if (claim instanceof String value && !value.isBlank()) {
+            try {
+                return Long.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
             }
-            return user.getId();
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new ResourceNotFoundException("User not found in user-service for keycloakId: " + keycloakId, e);
         }
+        return null;
     }
 
-    @SuppressWarnings("unused")
-    private Long userFallback(JwtAuthenticationToken authentication, Throwable t) {
-        String keycloakId = authentication.getToken().getSubject();
-        throw new ResourceNotFoundException("User-service unavailable or user not found for keycloakId: " + keycloakId, t);
+    private CachedUserId load(String keycloakId, String bearer) {
+        try {
+            return CachedUserId.of(userServiceHttpClient.fetchUserId(keycloakId, bearer));
+        } catch (UserNotFoundException e) {
+            return CachedUserId.missing();
+        }
+    }
+
+    private void refreshAsync(String keycloakId, String bearer) {
+        if (!refreshing.add(keycloakId)) {
+            return;
+        }
+        try {
+            userIdRefreshExecutor.execute(() -> {
+                try {
+                    userIdCache.put(keycloakId, load(keycloakId, bearer));
+                } catch (RuntimeException e) {
+                    // keep serving the current entry until it expires
+                    log.warn("Failed to refresh user id for keycloak id {}", keycloakId, e);
+                } finally {
+                    refreshing.remove(keycloakId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.remove(keycloakId);
+        }
     }
 }
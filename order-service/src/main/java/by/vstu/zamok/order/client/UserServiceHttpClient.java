@@ -0,0 +1,54 @@
+package by.vstu.zamok.order.client;
+
+import by.vstu.zamok.order.dto.UserDto;
+import by.vstu.zamok.order.exception.ResourceNotFoundException;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@RequiredArgsConstructor
+public class UserServiceHttpClient {
+
+    private final RestTemplate restTemplate;
+
+    @Value("${user.service.url}")
+    private String userServiceUrl;
+
+    @Retry(name = "userService", fallbackMethod = "userFallback")
+    @CircuitBreaker(name = "userService", fallbackMethod = "userFallback")
+    public Long fetchUserId(String keycloakId, String bearer) {
+        String url = userServiceUrl + "/api/users/by-keycloak-id/" + keycloakId;
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(bearer);
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+            ResponseEntity<UserDto> response = restTemplate.exchange(url, HttpMethod.GET, entity, UserDto.class);
+            UserDto user = response.getBody();
+            if (user == null || user.getId() == null) {
+                throw new UserNotFoundException(keycloakId);
+            }
+            return user.getId();
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new UserNotFoundException(keycloakId, e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private Long userFallback(String keycloakId, String bearer, Throwable t) {
+        if (t instanceof UserNotFoundException notFound) {
+            throw notFound;
+        }
+        throw new ResourceNotFoundException("User-service unavailable or user not found for keycloakId: " + keycloakId, t);
+    }
+}
@@ -1,30 +1,73 @@
 package by.vstu.zamok.order.config;
-import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringSerializer;
+
+import by.vstu.zamok.order.event.avro.AvroEventSerializer;
+import by.vstu.zamok.order.event.avro.EventCodecs;
+import by.vstu.zamok.order.event.avro.EventSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
+/**
+ * Producer settings come from {@code spring.kafka.*} (bootstrap servers, serializers, acks,
+ * compression, batching). The {@code high-throughput} profile tunes them for checkout peaks.
+ * Topics listed in {@code order.kafka.binary-topics} get Avro instead of JSON values.
+ */
 @Configuration
 public class KafkaProducerConfig {
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+    public EventSchemaRegistry eventSchemaRegistry() {
+        return EventSchemaRegistry.fromClasspath();
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory(KafkaProperties kafkaProperties,
+                                                           ObjectProvider<SslBundles> sslBundles,
+                                                           MeterRegistry meterRegistry,
+                                                           EventSchemaRegistry eventSchemaRegistry,
+                                                           ObjectMapper objectMapper,
+                                                           @Value("${order.kafka.binary-topics:}") List<String> binaryTopics) {
+        Map<String, Object> configs = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        List<String> topics = binaryTopics.stream().map(String::trim).filter(topic -> !topic.isEmpty()).toList();
+        // ObjectMapper из Boot: даты событий (orderDate, occurredAt) уходят строками ISO-8601, как в REST
+        JsonSerializer<Object> json = new JsonSerializer<>(objectMapper);
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(configs, null,
+                topics.isEmpty() ? json : valueSerializer(topics, eventSchemaRegistry, json));
+        // Нативные метрики продюсера: record-error-rate, batch-size-avg, compression-rate и т.д.
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    private static Serializer<Object> valueSerializer(List<String> binaryTopics, EventSchemaRegistry registry,
+                                                      Serializer<Object> json) {
+        AvroEventSerializer avro = new AvroEventSerializer(registry, EventCodecs.orderEvents());
+        Map<Pattern, Serializer<?>> delegates = new LinkedHashMap<>();
+        for (String topic : binaryTopics) {
+            delegates.put(Pattern.compile(Pattern.quote(topic)), avro);
+        }
+        // Остальные топики по-прежнему JSON; настраивается из spring.kafka.producer.properties
+        return new DelegatingByTopicSerializer(delegates, json);
     }
 }
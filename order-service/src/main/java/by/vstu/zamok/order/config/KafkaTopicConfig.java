@@ -2,26 +2,45 @@ package by.vstu.zamok.order.config;
 
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+/**
+ * Events are keyed (see {@code order.kafka.key-strategy}), so consumers scale up to the partition count.
+ * KafkaAdmin adds partitions to existing topics on startup but never removes them.
+ */
 @Configuration
 public class KafkaTopicConfig {
 
+    @Value("${order.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${order.kafka.replicas:1}")
+    private short replicas;
+
+    @Bean
+    public NewTopic orderCreatedTopic(@Value("${order.kafka.topic:order-created}") String topic) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
     @Bean
-    public NewTopic orderCreatedTopic() {
-        return TopicBuilder.name("order-created")
-                .partitions(1)
-                .replicas(1)
+    public NewTopic paymentStatusChangedTopic(@Value("${order.kafka.payment-topic:payment-status-changed}") String topic) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 
     @Bean
-    public NewTopic orderStatusChangedTopic() {
-        return TopicBuilder.name("order-status-changed")
-                .partitions(1)
-                .replicas(1)
+    public NewTopic orderStatusChangedTopic(@Value("${order.kafka.status-topic:order-status-changed}") String topic) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 }
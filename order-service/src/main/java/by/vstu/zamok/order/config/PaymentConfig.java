@@ -0,0 +1,47 @@
+package by.vstu.zamok.order.config;
+
+import by.vstu.zamok.order.payment.PaymentProcessingProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(PaymentProcessingProperties.class)
+public class PaymentConfig {
+
+    // Ограниченный пул: медленный шлюз не съедает потоки и память сервиса
+    @Bean
+    public ThreadPoolTaskExecutor paymentExecutor(PaymentProcessingProperties props, Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("payment-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(props.getWorkers());
+        executor.setMaxPoolSize(props.getWorkers());
+        executor.setQueueCapacity(props.getQueueCapacity());
+        executor.setThreadNamePrefix("payment-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    // Сверки идут по одной: каждая сама по себе читает payment пачками на полной скорости
+    @Bean
+    public ThreadPoolTaskExecutor reconciliationExecutor(@Value("${order.reconciliation.queue-capacity:4}") int queueCapacity,
+                                                         Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("reconciliation-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("reconciliation-");
+        return executor;
+    }
+}
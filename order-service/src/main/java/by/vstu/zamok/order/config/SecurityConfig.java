@@ -1,41 +1,78 @@
 package by.vstu.zamok.order.config;
 
+import by.vstu.zamok.security.CachingJwtAuthenticationManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.core.convert.converter.Converter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                                   Cache<String, JwtAuthenticationToken> jwtAuthenticationCache) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // завершение SSE-потока идёт отдельным async-dispatch, токен уже проверен на исходном запросе
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
-                    .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
+                    .jwt(jwt -> jwt.authenticationManager(authenticationManager(jwtDecoder, jwtAuthenticationCache))));
 
         return http.build();
     }
 
+    @Bean
+    public Cache<String, JwtAuthenticationToken> jwtAuthenticationCache(
+            @Value("${security.jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.jwt-cache.max-ttl:5m}") Duration maxTtl,
+            MeterRegistry meterRegistry) {
+        Cache<String, JwtAuthenticationToken> cache = CachingJwtAuthenticationManager.cacheBuilder(maximumSize, maxTtl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtAuthenticationCache");
+    }
+
     @org.springframework.beans.factory.annotation.Value("${security.require-email-verified:true}")
     private boolean requireVerified;
 
+    @Value("${security.jwt-cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    private AuthenticationManager authenticationManager(JwtDecoder jwtDecoder, Cache<String, JwtAuthenticationToken> cache) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        AuthenticationManager manager = new ProviderManager(provider);
+        return jwtCacheEnabled ? new CachingJwtAuthenticationManager(manager, cache) : manager;
+    }
+
     private Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter() {
         JwtAuthenticationConverter delegate = new JwtAuthenticationConverter();
         delegate.setJwtGrantedAuthoritiesConverter(new KeycloakRoleConverter());
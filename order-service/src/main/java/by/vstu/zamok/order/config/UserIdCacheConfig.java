@@ -0,0 +1,46 @@
+package by.vstu.zamok.order.config;
+
+import by.vstu.zamok.order.client.CachedUserId;
+import by.vstu.zamok.order.client.UserIdCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(UserIdCacheProperties.class)
+public class UserIdCacheConfig {
+
+    @Bean
+    public Cache<String, CachedUserId> userIdCache(UserIdCacheProperties props, MeterRegistry meterRegistry) {
+        Cache<String, CachedUserId> cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaximumSize())
+                .expireAfter(Expiry.<String, CachedUserId>writing((keycloakId, entry) ->
+                        entry.isMissing() ? props.getNegativeTtl() : props.getTtl()))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "userIdCache");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor userIdRefreshExecutor(UserIdCacheProperties props, Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // Тот же размер пула и очередь, но потоки виртуальные, если включён spring.threads.virtual
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("user-id-refresh-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(props.getRefreshThreads());
+        executor.setMaxPoolSize(props.getRefreshThreads());
+        executor.setQueueCapacity(1_000);
+        executor.setThreadNamePrefix("user-id-refresh-");
+        return executor;
+    }
+}
@@ -1,15 +1,30 @@
 package by.vstu.zamok.order.controller;
 
+import by.vstu.zamok.order.dto.AnalyticsBucket;
+import by.vstu.zamok.order.dto.AnalyticsSummaryDto;
+import by.vstu.zamok.order.dto.OrderBatchRequestDto;
+import by.vstu.zamok.order.dto.OrderBatchResponseDto;
+import by.vstu.zamok.order.dto.OrderBatchResultDto;
+import by.vstu.zamok.order.dto.OrderBatchStatus;
+import by.vstu.zamok.order.dto.OrderPageRequest;
+import by.vstu.zamok.order.dto.OrderPageResponseDto;
 import by.vstu.zamok.order.dto.OrderRequestDto;
 import by.vstu.zamok.order.dto.OrderResponseDto;
+import by.vstu.zamok.order.dto.OrderStatusBatchOutcome;
+import by.vstu.zamok.order.dto.OrderStatusBatchRequestDto;
+import by.vstu.zamok.order.dto.OrderStatusBatchResponseDto;
+import by.vstu.zamok.order.dto.OrderStatusBatchResultDto;
 import by.vstu.zamok.order.dto.UpdateOrderStatusRequest;
 import by.vstu.zamok.order.entity.Order;
 import by.vstu.zamok.order.entity.OrderStatus;
 import by.vstu.zamok.order.mapper.OrderMapper;
+import by.vstu.zamok.order.service.OrderPage;
 import by.vstu.zamok.order.service.OrderService;
+import by.vstu.zamok.order.service.PlacedOrder;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
@@ -25,20 +40,41 @@ public class OrderController {
     private final OrderService orderService;
     private final OrderMapper orderMapper;
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    @ResponseStatus(HttpStatus.CREATED)
-    public OrderResponseDto placeOrder(@RequestBody @Valid OrderRequestDto orderRequestDto, JwtAuthenticationToken authentication) {
-        Order order = orderService.placeOrder(orderRequestDto, authentication);
-        return orderMapper.toDto(order);
+    public ResponseEntity<OrderResponseDto> placeOrder(@RequestBody @Valid OrderRequestDto orderRequestDto,
+                                                       @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                       JwtAuthenticationToken authentication) {
+        PlacedOrder placed = orderService.placeOrder(orderRequestDto, authentication, idempotencyKey);
+        // Повтор получает тот же 201 и тело, что и первый запрос
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(placed.replayed()))
+                .body(orderMapper.toDto(placed.order()));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public OrderBatchResponseDto placeOrders(@RequestBody @Valid OrderBatchRequestDto batchRequest, JwtAuthenticationToken authentication) {
+        List<OrderBatchResultDto> results = orderService.placeOrders(batchRequest.getOrders(), authentication).stream()
+                .map(item -> item.created()
+                        ? new OrderBatchResultDto(item.index(), OrderBatchStatus.CREATED, orderMapper.toDto(item.order()), null)
+                        : new OrderBatchResultDto(item.index(), OrderBatchStatus.REJECTED, null, item.errors()))
+                .collect(Collectors.toList());
+        int created = (int) results.stream().filter(result -> result.getStatus() == OrderBatchStatus.CREATED).count();
+        return new OrderBatchResponseDto(created, results.size() - created, results);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public List<OrderResponseDto> getAllOrders(JwtAuthenticationToken authentication) {
-        return orderService.getAllOrders(authentication).stream()
+    public OrderPageResponseDto getOrders(@Valid OrderPageRequest pageRequest, JwtAuthenticationToken authentication) {
+        OrderPage page = orderService.getOrders(pageRequest, authentication);
+        List<OrderResponseDto> items = page.orders().stream()
                 .map(orderMapper::toDto)
                 .collect(Collectors.toList());
+        return new OrderPageResponseDto(items, page.nextCursor(), page.total());
     }
 
     @GetMapping("/{id}")
@@ -51,10 +87,20 @@ public class OrderController {
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public OrderResponseDto updateOrderStatus(@PathVariable Long id, @RequestBody @Valid UpdateOrderStatusRequest request) {
-        Order order = orderService.updateOrderStatus(id, request.getStatus());
+        Order order = orderService.updateOrderStatus(id, request.getStatus(), request.getVersion());
         return orderMapper.toDto(order);
     }
 
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public OrderStatusBatchResponseDto updateOrderStatuses(@RequestBody @Valid OrderStatusBatchRequestDto request) {
+        List<OrderStatusBatchResultDto> results = orderService.updateOrderStatuses(request.getIds(), request.getStatus()).stream()
+                .map(item -> new OrderStatusBatchResultDto(item.id(), item.outcome(), item.status(), item.version()))
+                .collect(Collectors.toList());
+        int updated = (int) results.stream().filter(result -> result.getOutcome() == OrderStatusBatchOutcome.UPDATED).count();
+        return new OrderStatusBatchResponseDto(request.getStatus(), updated, results.size() - updated, results);
+    }
+
     @PatchMapping("/{id}/cancel")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @ResponseStatus(HttpStatus.ACCEPTED)
@@ -65,8 +111,10 @@ public class OrderController {
 
     @GetMapping("/analytics/summary")
     @PreAuthorize("hasRole('ADMIN')")
-    public Object analyticsSummary(@RequestParam(required = false) String from,
-                                   @RequestParam(required = false) String to) {
-        return orderService.analyticsSummary(from, to);
+    public AnalyticsSummaryDto analyticsSummary(@RequestParam(required = false) String from,
+                                                @RequestParam(required = false) String to,
+                                                @RequestParam(required = false) AnalyticsBucket bucket,
+                                                @RequestParam(defaultValue = "false") boolean byRestaurant) {
+        return orderService.analyticsSummary(from, to, bucket, byRestaurant);
     }
 }
@@ -0,0 +1,31 @@
+package by.vstu.zamok.order.controller;
+
+import by.vstu.zamok.order.client.UserServiceClient;
+import by.vstu.zamok.order.tracking.OrderTrackingHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push alternative to polling {@code GET /api/orders/{id}}: status changes of the caller's
+ * orders as server-sent events ({@code event: order-status}).
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderTrackingController {
+
+    private final OrderTrackingHub orderTrackingHub;
+    private final UserServiceClient userServiceClient;
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public SseEmitter stream(JwtAuthenticationToken authentication) {
+        return orderTrackingHub.subscribe(userServiceClient.resolveUserId(authentication));
+    }
+}
@@ -0,0 +1,66 @@
+package by.vstu.zamok.order.controller;
+
+import by.vstu.zamok.order.dto.ReconciliationDiscrepancyDto;
+import by.vstu.zamok.order.dto.ReconciliationRunDto;
+import by.vstu.zamok.order.exception.ResourceNotFoundException;
+import by.vstu.zamok.order.reconciliation.PaymentReconciliationJob;
+import by.vstu.zamok.order.reconciliation.ReconciliationRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payments/reconciliations")
+@RequiredArgsConstructor
+public class PaymentReconciliationController {
+
+    private static final int MAX_PAGE = 1000;
+
+    private final PaymentReconciliationJob reconciliationJob;
+    private final ReconciliationRunRepository runRepository;
+
+    /**
+     * Body is the raw settlement CSV ({@code Content-Type: text/csv}); it is spooled to disk,
+     * never buffered whole in memory. Answers {@code 202} as soon as the upload is stored; the
+     * run is processed in the background and followed with {@code GET /{id}} ({@code Location}).
+     */
+    @PostMapping(consumes = {"text/csv", "text/plain"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationRunDto> reconcile(@RequestParam(defaultValue = "upload") String source, InputStream settlementFile) {
+        ReconciliationRunDto run = reconciliationJob.submit(source, settlementFile);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(run.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(run);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ReconciliationRunDto> getRuns(@RequestParam(defaultValue = "20") int limit) {
+        return runRepository.findRecent(Math.max(1, Math.min(limit, MAX_PAGE)));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ReconciliationRunDto getRun(@PathVariable Long id) {
+        return runRepository.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run not found with id: " + id));
+    }
+
+    @GetMapping("/{id}/discrepancies")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ReconciliationDiscrepancyDto> getDiscrepancies(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "0") long afterId,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        return runRepository.findDiscrepancies(id, afterId, Math.max(1, Math.min(limit, MAX_PAGE)));
+    }
+}
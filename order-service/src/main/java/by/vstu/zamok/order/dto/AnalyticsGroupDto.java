@@ -0,0 +1,18 @@
+package by.vstu.zamok.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsGroupDto {
+    private LocalDateTime bucket;
+    private Long restaurantId;
+    private long totalOrders;
+    private long revenue;
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+}
@@ -0,0 +1,21 @@
+package by.vstu.zamok.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsSummaryDto {
+    private String from;
+    private String to;
+    private long totalOrders;
+    private long revenue;
+    private Map<String, Long> byStatus;
+    // только при bucket=hour|day
+    private List<AnalyticsGroupDto> buckets;
+    // только при byRestaurant=true
+    private List<AnalyticsGroupDto> byRestaurant;
+}
@@ -0,0 +1,15 @@
+package by.vstu.zamok.order.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OrderBatchRequestDto {
+    // Без @Valid: каждый заказ проверяется отдельно и отклоняется в своём результате
+    @NotEmpty(message = "orders must not be empty")
+    @Size(max = 100, message = "at most 100 orders per batch")
+    private List<OrderRequestDto> orders;
+}
@@ -0,0 +1,16 @@
+package by.vstu.zamok.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResponseDto {
+    private int created;
+    private int rejected;
+    private List<OrderBatchResultDto> results;
+}
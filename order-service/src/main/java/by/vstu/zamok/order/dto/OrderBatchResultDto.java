@@ -0,0 +1,20 @@
+package by.vstu.zamok.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBatchResultDto {
+    // Позиция заказа в запросе
+    private int index;
+    private OrderBatchStatus status;
+    private OrderResponseDto order;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,6 @@
+package by.vstu.zamok.order.dto;
+
+public enum OrderBatchStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,32 @@
+package by.vstu.zamok.order.dto;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class OrderPageRequest {
+    @Min(value = 1, message = "limit must be at least 1")
+    @Max(value = 200, message = "limit must be at most 200")
+    private int limit = 20;
+
+    // nextCursor из предыдущей страницы
+    private String cursor;
+
+    private OrderStatus status;
+
+    private Long restaurantId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // count(*) по фильтру считается только по запросу
+    private boolean withTotal;
+}
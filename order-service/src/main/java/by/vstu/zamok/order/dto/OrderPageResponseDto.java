@@ -0,0 +1,18 @@
+package by.vstu.zamok.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponseDto {
+    private List<OrderResponseDto> items;
+    // null на последней странице
+    private String nextCursor;
+    // null, если withTotal=false
+    private Long total;
+}
@@ -17,4 +17,5 @@ public class OrderResponseDto {
     private BigDecimal totalPrice;
     private List<OrderItemResponseDto> items;
     private PaymentDto payment;
+    private Long version;
 }
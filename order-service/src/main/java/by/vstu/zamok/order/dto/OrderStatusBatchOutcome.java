@@ -0,0 +1,8 @@
+package by.vstu.zamok.order.dto;
+
+public enum OrderStatusBatchOutcome {
+    UPDATED,
+    NOT_FOUND,
+    // Текущий статус не допускает перехода (или заказ уже изменили)
+    CONFLICT
+}
@@ -0,0 +1,19 @@
+package by.vstu.zamok.order.dto;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OrderStatusBatchRequestDto {
+    @NotNull(message = "status must not be null")
+    private OrderStatus status;
+
+    @NotEmpty(message = "ids must not be empty")
+    @Size(max = 500, message = "at most 500 orders per batch")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,18 @@
+package by.vstu.zamok.order.dto;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusBatchResponseDto {
+    private OrderStatus status;
+    private int updated;
+    private int rejected;
+    private List<OrderStatusBatchResultDto> results;
+}
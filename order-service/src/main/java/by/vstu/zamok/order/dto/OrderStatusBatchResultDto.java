@@ -0,0 +1,19 @@
+package by.vstu.zamok.order.dto;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderStatusBatchResultDto {
+    private Long id;
+    private OrderStatusBatchOutcome outcome;
+    // Статус и версия после запроса; для NOT_FOUND не заполняются
+    private OrderStatus status;
+    private Long version;
+}
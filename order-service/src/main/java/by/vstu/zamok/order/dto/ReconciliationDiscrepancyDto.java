@@ -0,0 +1,22 @@
+package by.vstu.zamok.order.dto;
+
+import by.vstu.zamok.order.reconciliation.DiscrepancyType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReconciliationDiscrepancyDto {
+    private Long id;
+    private long lineNumber;
+    private Long paymentId;
+    private DiscrepancyType type;
+    private Integer settledAmount;
+    private Integer paymentAmount;
+    private String settledStatus;
+    private String paymentStatus;
+}
@@ -0,0 +1,26 @@
+package by.vstu.zamok.order.dto;
+
+import by.vstu.zamok.order.reconciliation.ReconciliationRunStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReconciliationRunDto {
+    private Long id;
+    private String source;
+    private ReconciliationRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Прогресс: счётчики обновляются после каждого чанка
+    private long linesRead;
+    private long matched;
+    private long discrepancies;
+    private String error;
+}
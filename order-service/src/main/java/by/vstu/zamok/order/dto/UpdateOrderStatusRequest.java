@@ -8,4 +8,7 @@ import lombok.Data;
 public class UpdateOrderStatusRequest {
     @NotNull(message = "status must not be null")
     private OrderStatus status;
+
+    // Необязательно: версия, которую видел клиент; при расхождении ответ 409
+    private Long version;
 }
@@ -2,6 +2,8 @@ package by.vstu.zamok.order.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,10 +11,14 @@ import java.util.List;
 @Entity
 @Table(name = "orders", schema = "order_schema")
 @Data
+// Смена статуса = один UPDATE status, version ... WHERE id = ? AND version = ?
+@DynamicUpdate
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY: ids are known before INSERT, so Hibernate can batch them
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", schema = "order_schema", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -31,7 +37,13 @@ public class Order {
     @Column(name = "total_price", nullable = false)
     private Integer totalPrice;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Позиции для всей страницы заказов подгружаются одним запросом (max limit = 200)
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     private List<OrderItem> orderItems;
 
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -10,7 +10,8 @@ import lombok.Data;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", schema = "order_schema", sequenceName = "order_item_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "dish_id", nullable = false)
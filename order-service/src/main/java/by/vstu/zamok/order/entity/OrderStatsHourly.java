@@ -0,0 +1,23 @@
+package by.vstu.zamok.order.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Hourly rollup of orders per restaurant and status. Rows are maintained by
+ * {@code OrderStatsRecorder} in the same transaction as the order change.
+ */
+@Entity
+@Table(name = "order_stats_hourly", schema = "order_schema")
+@Data
+public class OrderStatsHourly {
+
+    @EmbeddedId
+    private OrderStatsHourlyId id;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "total_price", nullable = false)
+    private Long totalPrice;
+}
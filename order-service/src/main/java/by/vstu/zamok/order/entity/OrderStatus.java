@@ -1,5 +1,8 @@
 package by.vstu.zamok.order.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     ACCEPTED,
@@ -7,5 +10,40 @@ public enum OrderStatus {
     READY_FOR_DELIVERY,
     DELIVERING,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Statuses reachable in one step. Orders only move forward; anything not yet completed can be cancelled.
+     */
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(ACCEPTED, CANCELLED);
+            case ACCEPTED -> EnumSet.of(COOKING, CANCELLED);
+            case COOKING -> EnumSet.of(READY_FOR_DELIVERY, CANCELLED);
+            case READY_FOR_DELIVERY -> EnumSet.of(DELIVERING, CANCELLED);
+            case DELIVERING -> EnumSet.of(COMPLETED, CANCELLED);
+            case COMPLETED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    /**
+     * Statuses from which this one is reachable in one step.
+     */
+    public Set<OrderStatus> previous() {
+        Set<OrderStatus> previous = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(this)) {
+                previous.add(status);
+            }
+        }
+        return previous;
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next().contains(target);
+    }
+
+    public boolean isFinal() {
+        return this == COMPLETED || this == CANCELLED;
+    }
 }
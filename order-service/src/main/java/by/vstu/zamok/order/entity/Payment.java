@@ -9,7 +9,8 @@ import lombok.Data;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", schema = "order_schema", sequenceName = "payment_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
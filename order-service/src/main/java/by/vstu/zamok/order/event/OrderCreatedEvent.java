@@ -1,13 +1,68 @@
 package by.vstu.zamok.order.event;
 
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Version 2 is self-contained: consumers get restaurant, items, totals and payment without
+ * calling back into order-service. Version 1 (only orderId and userId, no {@code version}
+ * field) is still produced when {@code order.kafka.created-event-version=1}.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OrderCreatedEvent {
+    public static final int CURRENT_VERSION = 2;
+
+    private Integer version;
     private Long orderId;
     private Long userId;
+    private Long restaurantId;
+    private OrderStatus status;
+    private List<Item> items;
+    private Integer totalPrice;
+    private String paymentMethod;
+    private String paymentStatus;
+    private LocalDateTime orderDate;
+    private Instant occurredAt;
+
+    /**
+     * Legacy (v1) shape.
+     */
+    public OrderCreatedEvent(Long orderId, Long userId) {
+        this.orderId = orderId;
+        this.userId = userId;
+    }
+
+    /**
+     * Builds the current version from an order that is already in memory, no extra queries.
+     */
+    public static OrderCreatedEvent of(Order order) {
+        List<Item> items = order.getOrderItems().stream()
+                .map(item -> new Item(item.getDishId(), item.getQuantity(), item.getPrice()))
+                .toList();
+        return new OrderCreatedEvent(CURRENT_VERSION, order.getId(), order.getUserId(), order.getRestaurantId(),
+                order.getStatus(), items, order.getTotalPrice(),
+                order.getPayment() == null ? null : order.getPayment().getMethod(),
+                order.getPayment() == null ? null : order.getPayment().getStatus(),
+                order.getOrderDate(), Instant.now());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long dishId;
+        private Integer quantity;
+        private Integer price;
+    }
 }
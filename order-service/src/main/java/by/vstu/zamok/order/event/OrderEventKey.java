@@ -0,0 +1,16 @@
+package by.vstu.zamok.order.event;
+
+import by.vstu.zamok.order.entity.Order;
+
+/**
+ * Which order field becomes the Kafka record key. Both keep all events of one order in one
+ * partition; RESTAURANT_ID additionally groups a restaurant's orders for restaurant-side consumers.
+ */
+public enum OrderEventKey {
+    ORDER_ID,
+    RESTAURANT_ID;
+
+    public String of(Order order) {
+        return String.valueOf(this == RESTAURANT_ID ? order.getRestaurantId() : order.getId());
+    }
+}
@@ -0,0 +1,80 @@
+package by.vstu.zamok.order.event;
+
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OutboxEvent;
+import by.vstu.zamok.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes order events to the outbox table in the caller's transaction.
+ * {@link OutboxRelay} delivers them to Kafka after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventPublisher {
+
+    static final String ORDER_AGGREGATE = "ORDER";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.kafka.key-strategy:order_id}")
+    private OrderEventKey keyStrategy;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String topic, Order order, Object event) {
+        outboxEventRepository.save(toOutboxEvent(topic, order, event));
+    }
+
+    /**
+     * Same as {@link #publish} for many orders at once: the rows go in as one JDBC batch.
+     * The outbox id stays IDENTITY on purpose, since its order is what the relay relies on.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(String topic, List<Order> orders, Function<Order, ?> eventFactory) {
+        List<OutboxEvent> outboxEvents = orders.stream()
+                .map(order -> toOutboxEvent(topic, order, eventFactory.apply(order)))
+                .toList();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_schema.outbox (aggregate_type, aggregate_id, topic, message_key, event_type, payload, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                outboxEvents, outboxEvents.size(), (ps, outboxEvent) -> {
+                    ps.setString(1, outboxEvent.getAggregateType());
+                    ps.setLong(2, outboxEvent.getAggregateId());
+                    ps.setString(3, outboxEvent.getTopic());
+                    ps.setString(4, outboxEvent.getMessageKey());
+                    ps.setString(5, outboxEvent.getEventType());
+                    ps.setString(6, outboxEvent.getPayload());
+                    ps.setTimestamp(7, Timestamp.valueOf(outboxEvent.getCreatedAt()));
+                });
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, Order order, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(ORDER_AGGREGATE);
+        outboxEvent.setAggregateId(order.getId());
+        outboxEvent.setTopic(topic);
+        outboxEvent.setMessageKey(keyStrategy.of(order));
+        outboxEvent.setEventType(event.getClass().getName());
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event " + event.getClass().getSimpleName(), e);
+        }
+        return outboxEvent;
+    }
+}
@@ -2,5 +2,13 @@ package by.vstu.zamok.order.event;
 
 import by.vstu.zamok.order.entity.OrderStatus;
 
-public record OrderStatusChangedEvent(Long orderId, OrderStatus status) {
+/**
+ * {@code userId} lets subscribers route the event to the order owner without a lookup;
+ * it is null in events written before it was added.
+ */
+public record OrderStatusChangedEvent(Long orderId, OrderStatus status, Long userId) {
+
+    public OrderStatusChangedEvent(Long orderId, OrderStatus status) {
+        this(orderId, status, null);
+    }
 }
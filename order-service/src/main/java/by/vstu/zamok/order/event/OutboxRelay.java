@@ -0,0 +1,157 @@
+package by.vstu.zamok.order.event;
+
+import by.vstu.zamok.order.entity.OutboxEvent;
+import by.vstu.zamok.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox table to Kafka in batches, at least once.
+ * Events of one aggregate are sent one at a time in insertion order: the next one goes out
+ * only after Kafka acknowledged the previous, and a failure keeps the rest of that aggregate
+ * in the outbox for the next run. Different aggregates are sent in parallel. No transaction
+ * is held while waiting for Kafka; delivered rows are deleted in a short one afterwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L; // "outbox"
+    private static final String EVENT_PACKAGE = OutboxRelay.class.getPackageName() + ".";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay.interval-ms:200}")
+    public void relay() {
+        // Только один relay одновременно: иначе события одного заказа могут уйти не по порядку.
+        // Сессионная блокировка держит соединение, но не транзакцию, пока ждём Kafka
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                return null;
+            }
+            try {
+                relayBatch();
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+            }
+            return null;
+        });
+    }
+
+    void relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findBatch(batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Deque<OutboxEvent>> pending = new LinkedHashMap<>();
+        for (OutboxEvent outboxEvent : batch) {
+            pending.computeIfAbsent(outboxEvent.getAggregateId(), id -> new ArrayDeque<>()).add(outboxEvent);
+        }
+
+        // Каждый раунд отправляет по одному следующему событию каждого агрегата
+        List<OutboxEvent> delivered = new ArrayList<>(batch.size());
+        while (!pending.isEmpty()) {
+            Map<OutboxEvent, CompletableFuture<SendResult<String, Object>>> sends = new LinkedHashMap<>();
+            for (Deque<OutboxEvent> events : pending.values()) {
+                OutboxEvent outboxEvent = events.peek();
+                sends.put(outboxEvent, send(outboxEvent));
+            }
+            kafkaTemplate.flush();
+
+            sends.forEach((outboxEvent, future) -> {
+                Long aggregateId = outboxEvent.getAggregateId();
+                if (isDelivered(outboxEvent, future)) {
+                    delivered.add(outboxEvent);
+                    pending.get(aggregateId).poll();
+                    if (pending.get(aggregateId).isEmpty()) {
+                        pending.remove(aggregateId);
+                    }
+                } else {
+                    pending.remove(aggregateId);
+                }
+            });
+        }
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(delivered);
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, RELAY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent outboxEvent) {
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            // Строки, записанные до появления message_key, идут с ключом orderId
+            String key = outboxEvent.getMessageKey() != null
+                    ? outboxEvent.getMessageKey()
+                    : String.valueOf(outboxEvent.getAggregateId());
+            future = kafkaTemplate.send(outboxEvent.getTopic(), key, toEvent(outboxEvent));
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, e) -> meterRegistry.counter("order.outbox.relay.events",
+                "topic", outboxEvent.getTopic(), "result", e == null ? "success" : "failure").increment());
+    }
+
+    private boolean isDelivered(OutboxEvent outboxEvent, CompletableFuture<SendResult<String, Object>> future) {
+        try {
+            future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to relay outbox event {} to topic {}", outboxEvent.getId(), outboxEvent.getTopic(), e);
+            return false;
+        }
+    }
+
+    private Object toEvent(OutboxEvent outboxEvent) throws Exception {
+        if (!outboxEvent.getEventType().startsWith(EVENT_PACKAGE)) {
+            throw new IllegalStateException("Unsupported outbox event type: " + outboxEvent.getEventType());
+        }
+        Class<?> eventClass = Class.forName(outboxEvent.getEventType());
+        return objectMapper.readValue(outboxEvent.getPayload(), eventClass);
+    }
+}
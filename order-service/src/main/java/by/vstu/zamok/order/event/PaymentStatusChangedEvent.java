@@ -0,0 +1,4 @@
+package by.vstu.zamok.order.event;
+
+public record PaymentStatusChangedEvent(Long orderId, Long paymentId, String status, Long userId, String reason) {
+}
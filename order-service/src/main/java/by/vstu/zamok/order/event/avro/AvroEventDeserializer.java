@@ -0,0 +1,65 @@
+package by.vstu.zamok.order.event.avro;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads records written by {@link AvroEventSerializer}. The writer schema is found by the
+ * fingerprint in the header and resolved to the latest schema of the same subject, so a
+ * consumer keeps working while producers move to a newer compatible version.
+ */
+public class AvroEventDeserializer implements Deserializer<Object> {
+
+    private static final int FINGERPRINT_OFFSET = 2;
+
+    private final EventSchemaRegistry registry;
+    private final Map<String, Reader<?>> readers = new HashMap<>();
+
+    public AvroEventDeserializer(EventSchemaRegistry registry, List<EventCodec<?>> codecs) {
+        this.registry = registry;
+        for (EventCodec<?> codec : codecs) {
+            readers.put(codec.subject(), new Reader<>(codec, registry));
+        }
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            long fingerprint = ByteBuffer.wrap(data, FINGERPRINT_OFFSET, Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).getLong();
+            Reader<?> reader = readers.get(registry.subjectOf(fingerprint));
+            if (reader == null) {
+                throw new SerializationException("No Avro codec for fingerprint " + Long.toHexString(fingerprint));
+            }
+            return reader.read(data);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to decode Avro event from " + topic, e);
+        }
+    }
+
+    private static final class Reader<T> {
+        private final EventCodec<T> codec;
+        private final BinaryMessageDecoder<GenericRecord> decoder;
+
+        private Reader(EventCodec<T> codec, EventSchemaRegistry registry) {
+            this.codec = codec;
+            this.decoder = new BinaryMessageDecoder<>(GenericData.get(), registry.latest(codec.subject()), registry.store());
+        }
+
+        private T read(byte[] data) throws IOException {
+            return codec.fromRecord(decoder.decode(data));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package by.vstu.zamok.order.event.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes events in Avro single-object encoding: 2-byte marker, 8-byte schema fingerprint, binary body.
+ * Each event is written with the latest registered schema of its subject.
+ */
+public class AvroEventSerializer implements Serializer<Object> {
+
+    private final Map<Class<?>, Writer<?>> writers = new HashMap<>();
+
+    public AvroEventSerializer(EventSchemaRegistry registry, List<EventCodec<?>> codecs) {
+        for (EventCodec<?> codec : codecs) {
+            writers.put(codec.type(), new Writer<>(codec, registry.latest(codec.subject())));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        Writer<?> writer = writers.get(data.getClass());
+        if (writer == null) {
+            throw new SerializationException("No Avro codec for " + data.getClass().getName());
+        }
+        try {
+            return writer.write(data);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to encode " + data.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static final class Writer<T> {
+        private final EventCodec<T> codec;
+        private final Schema schema;
+        private final BinaryMessageEncoder<GenericRecord> encoder;
+
+        private Writer(EventCodec<T> codec, Schema schema) {
+            this.codec = codec;
+            this.schema = schema;
+            this.encoder = new BinaryMessageEncoder<>(GenericData.get(), schema);
+        }
+
+        private byte[] write(Object event) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+            encoder.encode(codec.toRecord(codec.type().cast(event), schema), out);
+            return out.toByteArray();
+        }
+    }
+}
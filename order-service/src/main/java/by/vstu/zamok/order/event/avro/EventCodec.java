@@ -0,0 +1,21 @@
+package by.vstu.zamok.order.event.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * Explicit mapping between an event class and its Avro record, so encoding needs no reflection.
+ * {@code fromRecord} receives a record already resolved to the latest schema of the subject.
+ */
+public interface EventCodec<T> {
+
+    Class<T> type();
+
+    default String subject() {
+        return type().getSimpleName();
+    }
+
+    GenericRecord toRecord(T event, Schema schema);
+
+    T fromRecord(GenericRecord record);
+}
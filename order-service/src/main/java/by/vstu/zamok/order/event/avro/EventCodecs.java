@@ -0,0 +1,13 @@
+package by.vstu.zamok.order.event.avro;
+
+import java.util.List;
+
+public final class EventCodecs {
+
+    private EventCodecs() {
+    }
+
+    public static List<EventCodec<?>> orderEvents() {
+        return List.of(new OrderCreatedEventCodec(), new OrderStatusChangedEventCodec());
+    }
+}
@@ -0,0 +1,85 @@
+package by.vstu.zamok.order.event.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.SchemaStore;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for a schema registry. Schemas live on the classpath as
+ * {@code avro/<Subject>.v<version>.avsc}; every version ever published must stay there so
+ * consumers can still read old records. Records carry the writer schema's CRC-64 fingerprint
+ * (Avro single-object encoding), so ids do not depend on load order.
+ */
+public class EventSchemaRegistry {
+
+    private static final String LOCATION = "classpath*:avro/*.avsc";
+    private static final Pattern FILE_NAME = Pattern.compile("(\\w+)\\.v(\\d+)\\.avsc");
+
+    private final Map<String, NavigableMap<Integer, Schema>> versions = new HashMap<>();
+    private final Map<Long, String> subjectsByFingerprint = new HashMap<>();
+    private final SchemaStore.Cache store = new SchemaStore.Cache();
+
+    public static EventSchemaRegistry fromClasspath() {
+        EventSchemaRegistry registry = new EventSchemaRegistry();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+                if (!matcher.matches()) {
+                    throw new IllegalStateException("Schema file must be named <Subject>.v<version>.avsc: " + resource.getFilename());
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    registry.register(matcher.group(1), Integer.parseInt(matcher.group(2)), new Schema.Parser().parse(in));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load Avro schemas from " + LOCATION, e);
+        }
+        return registry;
+    }
+
+    public void register(String subject, int version, Schema schema) {
+        versions.computeIfAbsent(subject, key -> new TreeMap<>()).put(version, schema);
+        subjectsByFingerprint.put(SchemaNormalization.parsingFingerprint64(schema), subject);
+        store.addSchema(schema);
+    }
+
+    public Schema latest(String subject) {
+        NavigableMap<Integer, Schema> subjectVersions = versions.get(subject);
+        if (subjectVersions == null) {
+            throw new IllegalArgumentException("No schema registered for " + subject);
+        }
+        return subjectVersions.lastEntry().getValue();
+    }
+
+    public Schema version(String subject, int version) {
+        Schema schema = versions.getOrDefault(subject, new TreeMap<>()).get(version);
+        if (schema == null) {
+            throw new IllegalArgumentException("No schema " + subject + " v" + version);
+        }
+        return schema;
+    }
+
+    public String subjectOf(long fingerprint) {
+        String subject = subjectsByFingerprint.get(fingerprint);
+        if (subject == null) {
+            throw new IllegalArgumentException("Unknown schema fingerprint " + Long.toHexString(fingerprint));
+        }
+        return subject;
+    }
+
+    SchemaStore store() {
+        return store;
+    }
+}
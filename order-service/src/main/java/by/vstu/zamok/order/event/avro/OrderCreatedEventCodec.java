@@ -0,0 +1,96 @@
+package by.vstu.zamok.order.event.avro;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.event.OrderCreatedEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles both schema versions: v1 records come back with only orderId and userId set.
+ */
+public class OrderCreatedEventCodec implements EventCodec<OrderCreatedEvent> {
+
+    @Override
+    public Class<OrderCreatedEvent> type() {
+        return OrderCreatedEvent.class;
+    }
+
+    @Override
+    public GenericRecord toRecord(OrderCreatedEvent event, Schema schema) {
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("orderId", event.getOrderId());
+        record.put("userId", event.getUserId());
+        if (schema.getField("version") == null) {
+            return record;
+        }
+        record.put("version", event.getVersion());
+        record.put("restaurantId", event.getRestaurantId());
+        record.put("status", event.getStatus() == null ? null : event.getStatus().name());
+        record.put("items", event.getItems() == null ? null : items(event.getItems(), schema));
+        record.put("totalPrice", event.getTotalPrice());
+        record.put("paymentMethod", event.getPaymentMethod());
+        record.put("paymentStatus", event.getPaymentStatus());
+        // local-timestamp-millis: время без зоны, как в orders.order_date
+        record.put("orderDate", event.getOrderDate() == null ? null : event.getOrderDate().toInstant(ZoneOffset.UTC).toEpochMilli());
+        record.put("occurredAt", event.getOccurredAt() == null ? null : event.getOccurredAt().toEpochMilli());
+        return record;
+    }
+
+    @Override
+    public OrderCreatedEvent fromRecord(GenericRecord record) {
+        OrderCreatedEvent event = new OrderCreatedEvent((Long) record.get("orderId"), (Long) record.get("userId"));
+        if (record.getSchema().getField("version") == null) {
+            return event;
+        }
+        event.setVersion((Integer) record.get("version"));
+        event.setRestaurantId((Long) record.get("restaurantId"));
+        Object status = record.get("status");
+        event.setStatus(status == null ? null : OrderStatus.valueOf(status.toString()));
+        Object items = record.get("items");
+        if (items != null) {
+            List<OrderCreatedEvent.Item> eventItems = new ArrayList<>();
+            for (Object item : (List<?>) items) {
+                GenericRecord itemRecord = (GenericRecord) item;
+                eventItems.add(new OrderCreatedEvent.Item((Long) itemRecord.get("dishId"),
+                        (Integer) itemRecord.get("quantity"), (Integer) itemRecord.get("price")));
+            }
+            event.setItems(eventItems);
+        }
+        event.setTotalPrice((Integer) record.get("totalPrice"));
+        event.setPaymentMethod(toString(record.get("paymentMethod")));
+        event.setPaymentStatus(toString(record.get("paymentStatus")));
+        Long orderDate = (Long) record.get("orderDate");
+        event.setOrderDate(orderDate == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(orderDate), ZoneOffset.UTC));
+        Long occurredAt = (Long) record.get("occurredAt");
+        event.setOccurredAt(occurredAt == null ? null : Instant.ofEpochMilli(occurredAt));
+        return event;
+    }
+
+    private static List<GenericRecord> items(List<OrderCreatedEvent.Item> items, Schema schema) {
+        Schema itemSchema = nonNull(schema.getField("items").schema()).getElementType();
+        List<GenericRecord> records = new ArrayList<>(items.size());
+        for (OrderCreatedEvent.Item item : items) {
+            GenericRecord itemRecord = new GenericData.Record(itemSchema);
+            itemRecord.put("dishId", item.getDishId());
+            itemRecord.put("quantity", item.getQuantity());
+            itemRecord.put("price", item.getPrice());
+            records.add(itemRecord);
+        }
+        return records;
+    }
+
+    private static Schema nonNull(Schema union) {
+        return union.getTypes().stream().filter(type -> type.getType() != Schema.Type.NULL).findFirst().orElseThrow();
+    }
+
+    private static String toString(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package by.vstu.zamok.order.event.avro;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+public class OrderStatusChangedEventCodec implements EventCodec<OrderStatusChangedEvent> {
+
+    @Override
+    public Class<OrderStatusChangedEvent> type() {
+        return OrderStatusChangedEvent.class;
+    }
+
+    @Override
+    public GenericRecord toRecord(OrderStatusChangedEvent event, Schema schema) {
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("orderId", event.orderId());
+        // строка, а не enum Avro: новый статус не ломает старых потребителей
+        record.put("status", event.status().name());
+        if (schema.getField("userId") != null) {
+            record.put("userId", event.userId());
+        }
+        return record;
+    }
+
+    @Override
+    public OrderStatusChangedEvent fromRecord(GenericRecord record) {
+        Long userId = record.getSchema().getField("userId") == null ? null : (Long) record.get("userId");
+        return new OrderStatusChangedEvent((Long) record.get("orderId"), OrderStatus.valueOf(record.get("status").toString()), userId);
+    }
+}
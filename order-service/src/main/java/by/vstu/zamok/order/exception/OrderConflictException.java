@@ -0,0 +1,19 @@
+package by.vstu.zamok.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Transition not allowed from the current status, or the order was changed by someone else in between.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class OrderConflictException extends RuntimeException {
+
+    public OrderConflictException(String message) {
+        super(message);
+    }
+
+    public OrderConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -15,9 +15,11 @@ public interface OrderMapper {
     @Mapping(target = "orderDate", ignore = true)
     @Mapping(target = "totalPrice", ignore = true)
     @Mapping(target = "payment", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "orderItems", source = "items")
     Order toEntity(OrderRequestDto orderRequestDto);
 
     @Mapping(source = "payment", target = "payment")
+    @Mapping(source = "orderItems", target = "items")
     OrderResponseDto toDto(Order order);
 }
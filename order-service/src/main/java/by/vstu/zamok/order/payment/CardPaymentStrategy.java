@@ -4,10 +4,11 @@ import by.vstu.zamok.order.entity.Payment;
 import by.vstu.zamok.order.entity.PaymentStatus;
 import org.springframework.stereotype.Component;
 
+// Оплата картой проводится асинхронно после коммита заказа (PaymentProcessor)
 @Component
 public class CardPaymentStrategy implements PaymentStrategy {
     @Override
     public void apply(Payment payment) {
-        payment.setStatus(PaymentStatus.COMPLETED.name());
+        payment.setStatus(PaymentStatus.PENDING.name());
     }
 }
@@ -0,0 +1,4 @@
+package by.vstu.zamok.order.payment;
+
+public record PaymentCharge(Long paymentId, Long orderId, String method, int amount) {
+}
@@ -0,0 +1,11 @@
+package by.vstu.zamok.order.payment;
+
+/**
+ * External payment provider. Called outside any DB transaction; the same payment may be
+ * charged again after a crash or by the recovery sweep, so implementations must pass
+ * {@link PaymentCharge#paymentId()} to the provider as its idempotency key.
+ */
+public interface PaymentGateway {
+
+    PaymentGatewayResult charge(PaymentCharge charge);
+}
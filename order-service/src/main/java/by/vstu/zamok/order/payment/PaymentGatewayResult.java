@@ -0,0 +1,12 @@
+package by.vstu.zamok.order.payment;
+
+public record PaymentGatewayResult(boolean approved, String reason) {
+
+    public static PaymentGatewayResult success() {
+        return new PaymentGatewayResult(true, null);
+    }
+
+    public static PaymentGatewayResult declined(String reason) {
+        return new PaymentGatewayResult(false, reason);
+    }
+}
@@ -0,0 +1,25 @@
+package by.vstu.zamok.order.payment;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.payment")
+public class PaymentProcessingProperties {
+    /** Threads calling the payment gateway */
+    private int workers = 8;
+
+    /** Payments waiting for a worker; beyond this they are left to the recovery sweep */
+    private int queueCapacity = 1_000;
+
+    /** PENDING payments of orders older than this are resubmitted */
+    private Duration recoveryAfter = Duration.ofMinutes(2);
+
+    /** Payments resubmitted per sweep */
+    private int recoveryBatchSize = 200;
+
+    /** Simulated gateway round trip of the local stub */
+    private Duration stubLatency = Duration.ofMillis(200);
+}
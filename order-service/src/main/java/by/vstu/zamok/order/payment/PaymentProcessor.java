@@ -0,0 +1,152 @@
+package by.vstu.zamok.order.payment;
+
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.entity.Payment;
+import by.vstu.zamok.order.entity.PaymentStatus;
+import by.vstu.zamok.order.event.OrderEventPublisher;
+import by.vstu.zamok.order.event.PaymentStatusChangedEvent;
+import by.vstu.zamok.order.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Async payment stage. Orders commit with a PENDING payment; after commit each payment is
+ * handed to a bounded worker pool that calls the {@link PaymentGateway} without holding a
+ * transaction, then moves the payment to COMPLETED or FAILED with a conditional UPDATE and
+ * writes a {@link PaymentStatusChangedEvent} to the outbox in the same short transaction.
+ * Payments that were rejected by a full queue, failed with an error or were lost in a
+ * restart stay PENDING and are picked up again by {@link #resubmitStale()}. A payment of a
+ * cancelled order is moved to CANCELLED instead of being charged.
+ */
+@Slf4j
+@Component
+public class PaymentProcessor {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final OrderEventPublisher orderEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor paymentExecutor;
+    private final PaymentProcessingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer gatewayTimer;
+
+    @Value("${order.kafka.payment-topic:payment-status-changed}")
+    private String paymentTopic;
+
+    public PaymentProcessor(PaymentRepository paymentRepository,
+                            PaymentGateway paymentGateway,
+                            OrderEventPublisher orderEventPublisher,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("paymentExecutor") TaskExecutor paymentExecutor,
+                            PaymentProcessingProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.orderEventPublisher = orderEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentExecutor = paymentExecutor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.gatewayTimer = Timer.builder("order.payment.gateway")
+                .description("Payment gateway round trip")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPaymentRequested(PaymentRequestedEvent event) {
+        event.paymentIds().forEach(this::submit);
+    }
+
+    @Scheduled(fixedDelayString = "${order.payment.recovery-interval:1m}")
+    public void resubmitStale() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRecoveryAfter());
+        paymentRepository.findPendingIds(before, Limit.of(properties.getRecoveryBatchSize())).forEach(this::submit);
+    }
+
+    void submit(Long paymentId) {
+        try {
+            paymentExecutor.execute(() -> process(paymentId));
+        } catch (TaskRejectedException e) {
+            // очередь заполнена: платёж остаётся PENDING до следующего прохода resubmitStale
+            count("rejected");
+        }
+    }
+
+    /**
+     * Moves the PENDING payments of orders being cancelled to CANCELLED. Must run in the
+     * cancelling transaction, so a worker that picks the payment up later finds it settled.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancelPending(Collection<Long> orderIds) {
+        for (Payment payment : paymentRepository.findPendingByOrderIds(orderIds)) {
+            cancel(payment);
+        }
+    }
+
+    void process(Long paymentId) {
+        Payment payment = paymentRepository.findWithOrderById(paymentId).orElse(null);
+        if (payment == null || !PaymentStatus.PENDING.name().equals(payment.getStatus())) {
+            return;
+        }
+        Order order = payment.getOrder();
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            // заказ отменили до того, как до платежа дошла очередь
+            transactionTemplate.executeWithoutResult(tx -> cancel(payment));
+            return;
+        }
+
+        PaymentGatewayResult result;
+        try {
+            result = gatewayTimer.recordCallable(() -> paymentGateway.charge(
+                    new PaymentCharge(paymentId, order.getId(), payment.getMethod(), payment.getAmount())));
+        } catch (Exception e) {
+            log.warn("Payment {} of order {} failed, will retry: {}", paymentId, order.getId(), e.getMessage());
+            count("error");
+            return;
+        }
+
+        String status = result.approved() ? PaymentStatus.COMPLETED.name() : PaymentStatus.FAILED.name();
+        Boolean updated = transactionTemplate.execute(tx -> {
+            if (paymentRepository.completePending(paymentId, status) != 1) {
+                return false;
+            }
+            orderEventPublisher.publish(paymentTopic, order,
+                    new PaymentStatusChangedEvent(order.getId(), paymentId, status, order.getUserId(), result.reason()));
+            return true;
+        });
+        // повторная отправка из resubmitStale, проигравшая гонку, — не второй платёж
+        count(Boolean.TRUE.equals(updated) ? status.toLowerCase() : "skipped");
+    }
+
+    private void cancel(Payment payment) {
+        Order order = payment.getOrder();
+        String status = PaymentStatus.CANCELLED.name();
+        if (paymentRepository.completePending(payment.getId(), status) == 1) {
+            orderEventPublisher.publish(paymentTopic, order,
+                    new PaymentStatusChangedEvent(order.getId(), payment.getId(), status, order.getUserId(), "Order cancelled"));
+            count("cancelled");
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("order.payment.processed", "result", result).increment();
+    }
+}
@@ -0,0 +1,9 @@
+package by.vstu.zamok.order.payment;
+
+import java.util.List;
+
+/**
+ * Published inside the order transaction; payments are submitted only after it commits.
+ */
+public record PaymentRequestedEvent(List<Long> paymentIds) {
+}
@@ -0,0 +1,29 @@
+package by.vstu.zamok.order.payment;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in until a real provider is wired: waits {@code order.payment.stub-latency}
+ * and approves every positive amount. Set {@code order.payment.gateway} to anything else to
+ * plug in a real {@link PaymentGateway}.
+ */
+@Component
+@ConditionalOnProperty(name = "order.payment.gateway", havingValue = "stub", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final PaymentProcessingProperties properties;
+
+    @Override
+    public PaymentGatewayResult charge(PaymentCharge charge) {
+        try {
+            Thread.sleep(properties.getStubLatency().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while charging payment " + charge.paymentId(), e);
+        }
+        return charge.amount() > 0 ? PaymentGatewayResult.success() : PaymentGatewayResult.declined("Invalid amount");
+    }
+}
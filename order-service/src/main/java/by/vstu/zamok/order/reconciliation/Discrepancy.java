@@ -0,0 +1,6 @@
+package by.vstu.zamok.order.reconciliation;
+
+public record Discrepancy(long lineNumber, Long paymentId, DiscrepancyType type,
+                          Integer settledAmount, Integer paymentAmount,
+                          String settledStatus, String paymentStatus) {
+}
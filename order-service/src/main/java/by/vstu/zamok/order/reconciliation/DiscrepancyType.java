@@ -0,0 +1,10 @@
+package by.vstu.zamok.order.reconciliation;
+
+public enum DiscrepancyType {
+    // В файле есть, в order_schema.payment нет
+    MISSING_PAYMENT,
+    AMOUNT_MISMATCH,
+    STATUS_MISMATCH,
+    // Строку не удалось разобрать
+    MALFORMED_LINE
+}
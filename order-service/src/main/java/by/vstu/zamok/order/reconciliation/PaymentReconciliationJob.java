@@ -0,0 +1,190 @@
+package by.vstu.zamok.order.reconciliation;
+
+import by.vstu.zamok.order.dto.ReconciliationRunDto;
+import by.vstu.zamok.order.repository.PaymentRepository;
+import by.vstu.zamok.order.repository.PaymentSettlementView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reconciles a settlement file against {@code order_schema.payment}. {@link #submit} copies the
+ * upload to a temporary file and returns the RUNNING run; a single worker then reads the file line
+ * by line and processed in chunks of {@code order.reconciliation.chunk-size}: one query per
+ * chunk for the referenced payments, one batch insert for the discrepancies, one counter
+ * update on the run. Memory stays bounded by the chunk size whatever the file size.
+ * <p>
+ * Metrics: {@code order.reconciliation.lines} (rate = throughput),
+ * {@code order.reconciliation.discrepancies{type}}, {@code order.reconciliation.chunk}.
+ */
+@Slf4j
+@Component
+public class PaymentReconciliationJob {
+
+    private final PaymentRepository paymentRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor reconciliationExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Counter linesCounter;
+    private final Timer chunkTimer;
+
+    @Value("${order.reconciliation.chunk-size:1000}")
+    private int chunkSize;
+
+    public PaymentReconciliationJob(PaymentRepository paymentRepository,
+                                    ReconciliationRunRepository runRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Qualifier("reconciliationExecutor") TaskExecutor reconciliationExecutor,
+                                    MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.runRepository = runRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.reconciliationExecutor = reconciliationExecutor;
+        this.meterRegistry = meterRegistry;
+        this.linesCounter = Counter.builder("order.reconciliation.lines")
+                .description("Settlement file lines reconciled")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("order.reconciliation.chunk")
+                .description("Time to reconcile one chunk of settlement lines")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a run and returns it while it is still RUNNING; follow it with {@link ReconciliationRunRepository#find}.
+     * The upload is spooled to disk first, so the request thread is released once the body is read.
+     */
+    public ReconciliationRunDto submit(String source, InputStream settlementFile) {
+        long runId = runRepository.start(source);
+        Path file = null;
+        try {
+            file = Files.createTempFile("reconciliation-" + runId + "-", ".csv");
+            Files.copy(settlementFile, file, StandardCopyOption.REPLACE_EXISTING);
+            Path spooled = file;
+            reconciliationExecutor.execute(() -> {
+                try {
+                    run(runId, source, spooled);
+                } finally {
+                    delete(spooled);
+                }
+            });
+        } catch (IOException | TaskRejectedException e) {
+            log.error("Reconciliation run {} of {} could not be started", runId, source, e);
+            delete(file);
+            runRepository.finish(runId, ReconciliationRunStatus.FAILED, e instanceof TaskRejectedException
+                    ? "Too many reconciliation runs queued, retry later"
+                    : Objects.toString(e.getMessage(), e.getClass().getName()));
+        }
+        return runRepository.find(runId).orElseThrow();
+    }
+
+    private void run(long runId, String source, Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<SettlementLine> lines = new ArrayList<>(chunkSize);
+            List<Discrepancy> malformed = new ArrayList<>();
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && SettlementLine.isHeader(line))) {
+                    continue;
+                }
+                try {
+                    lines.add(SettlementLine.parse(lineNumber, line));
+                } catch (IllegalArgumentException e) {
+                    malformed.add(new Discrepancy(lineNumber, null, DiscrepancyType.MALFORMED_LINE, null, null, null, null));
+                }
+                if (lines.size() + malformed.size() >= chunkSize) {
+                    reconcileChunk(runId, lines, malformed);
+                }
+            }
+            reconcileChunk(runId, lines, malformed);
+            runRepository.finish(runId, ReconciliationRunStatus.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            log.error("Reconciliation run {} of {} failed", runId, source, e);
+            runRepository.finish(runId, ReconciliationRunStatus.FAILED, Objects.toString(e.getMessage(), e.getClass().getName()));
+        }
+    }
+
+    private static void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete reconciliation file {}", file, e);
+        }
+    }
+
+    /**
+     * Reconciles and clears the buffered lines.
+     */
+    private void reconcileChunk(long runId, List<SettlementLine> lines, List<Discrepancy> malformed) {
+        if (lines.isEmpty() && malformed.isEmpty()) {
+            return;
+        }
+        chunkTimer.record(() -> {
+            List<Discrepancy> discrepancies = new ArrayList<>(malformed);
+            long matched = 0;
+            Map<Long, PaymentSettlementView> payments = lines.isEmpty() ? Map.of()
+                    : paymentRepository.findSettlementViews(lines.stream().map(SettlementLine::paymentId)
+                            .collect(Collectors.toCollection(TreeSet::new)))
+                    .stream().collect(Collectors.toMap(PaymentSettlementView::getId, Function.identity()));
+            for (SettlementLine line : lines) {
+                Discrepancy discrepancy = compare(line, payments.get(line.paymentId()));
+                if (discrepancy == null) {
+                    matched++;
+                } else {
+                    discrepancies.add(discrepancy);
+                }
+            }
+            long chunkLines = lines.size() + malformed.size();
+            long chunkMatched = matched;
+            transactionTemplate.executeWithoutResult(tx -> runRepository.addChunk(runId, chunkLines, chunkMatched, discrepancies));
+
+            linesCounter.increment(chunkLines);
+            discrepancies.forEach(discrepancy -> meterRegistry.counter("order.reconciliation.discrepancies",
+                    "type", discrepancy.type().name()).increment());
+        });
+        lines.clear();
+        malformed.clear();
+    }
+
+    static Discrepancy compare(SettlementLine line, PaymentSettlementView payment) {
+        if (payment == null) {
+            return new Discrepancy(line.lineNumber(), line.paymentId(), DiscrepancyType.MISSING_PAYMENT,
+                    line.amount(), null, line.status(), null);
+        }
+        DiscrepancyType type = null;
+        if (!line.amount().equals(payment.getAmount())) {
+            type = DiscrepancyType.AMOUNT_MISMATCH;
+        } else if (!line.expectedPaymentStatus().name().equals(payment.getStatus())) {
+            type = DiscrepancyType.STATUS_MISMATCH;
+        }
+        return type == null ? null : new Discrepancy(line.lineNumber(), line.paymentId(), type,
+                line.amount(), payment.getAmount(), line.status(), payment.getStatus());
+    }
+}
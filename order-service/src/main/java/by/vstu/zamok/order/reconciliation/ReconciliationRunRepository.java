@@ -0,0 +1,93 @@
+package by.vstu.zamok.order.reconciliation;
+
+import by.vstu.zamok.order.dto.ReconciliationDiscrepancyDto;
+import by.vstu.zamok.order.dto.ReconciliationRunDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class ReconciliationRunRepository {
+
+    private static final String RUN_COLUMNS =
+            "SELECT id, source, status, started_at, finished_at, lines_read, matched, discrepancies, error " +
+                    "FROM order_schema.reconciliation_run ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long start(String source) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO order_schema.reconciliation_run (source, status, started_at) VALUES (?, ?, ?) RETURNING id",
+                Long.class, source, ReconciliationRunStatus.RUNNING.name(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Records one processed chunk; callers run it in a short transaction of its own so
+     * progress is visible while the file is still being read.
+     */
+    public void addChunk(long runId, long lines, long matched, List<Discrepancy> discrepancies) {
+        if (!discrepancies.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO order_schema.reconciliation_discrepancy " +
+                            "(run_id, line_number, payment_id, type, settled_amount, payment_amount, settled_status, payment_status) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+                        ps.setLong(1, runId);
+                        ps.setLong(2, discrepancy.lineNumber());
+                        ps.setObject(3, discrepancy.paymentId(), Types.BIGINT);
+                        ps.setString(4, discrepancy.type().name());
+                        ps.setObject(5, discrepancy.settledAmount(), Types.INTEGER);
+                        ps.setObject(6, discrepancy.paymentAmount(), Types.INTEGER);
+                        ps.setString(7, discrepancy.settledStatus());
+                        ps.setString(8, discrepancy.paymentStatus());
+                    });
+        }
+        jdbcTemplate.update(
+                "UPDATE order_schema.reconciliation_run SET lines_read = lines_read + ?, matched = matched + ?, " +
+                        "discrepancies = discrepancies + ? WHERE id = ?",
+                lines, matched, discrepancies.size(), runId);
+    }
+
+    public void finish(long runId, ReconciliationRunStatus status, String error) {
+        jdbcTemplate.update(
+                "UPDATE order_schema.reconciliation_run SET status = ?, finished_at = ?, error = ? WHERE id = ?",
+                status.name(), Timestamp.valueOf(LocalDateTime.now()), error, runId);
+    }
+
+    public Optional<ReconciliationRunDto> find(long runId) {
+        return jdbcTemplate.query(RUN_COLUMNS + "WHERE id = ?", ReconciliationRunRepository::mapRun, runId).stream().findFirst();
+    }
+
+    public List<ReconciliationRunDto> findRecent(int limit) {
+        return jdbcTemplate.query(RUN_COLUMNS + "ORDER BY id DESC LIMIT ?", ReconciliationRunRepository::mapRun, limit);
+    }
+
+    public List<ReconciliationDiscrepancyDto> findDiscrepancies(long runId, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, line_number, payment_id, type, settled_amount, payment_amount, settled_status, payment_status " +
+                        "FROM order_schema.reconciliation_discrepancy WHERE run_id = ? AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new ReconciliationDiscrepancyDto(rs.getLong("id"), rs.getLong("line_number"),
+                        (Long) rs.getObject("payment_id"), DiscrepancyType.valueOf(rs.getString("type")),
+                        (Integer) rs.getObject("settled_amount"), (Integer) rs.getObject("payment_amount"),
+                        rs.getString("settled_status"), rs.getString("payment_status")),
+                runId, afterId, limit);
+    }
+
+    private static ReconciliationRunDto mapRun(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp finishedAt = rs.getTimestamp("finished_at");
+        return new ReconciliationRunDto(rs.getLong("id"), rs.getString("source"),
+                ReconciliationRunStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("started_at").toLocalDateTime(),
+                finishedAt == null ? null : finishedAt.toLocalDateTime(),
+                rs.getLong("lines_read"), rs.getLong("matched"), rs.getLong("discrepancies"), rs.getString("error"));
+    }
+}
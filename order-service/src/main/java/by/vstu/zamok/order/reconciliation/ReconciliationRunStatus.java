@@ -0,0 +1,7 @@
+package by.vstu.zamok.order.reconciliation;
+
+public enum ReconciliationRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
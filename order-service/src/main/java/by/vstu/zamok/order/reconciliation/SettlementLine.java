@@ -0,0 +1,37 @@
+package by.vstu.zamok.order.reconciliation;
+
+import by.vstu.zamok.order.entity.PaymentStatus;
+
+/**
+ * One line of a gateway settlement file: {@code payment_id,amount,status}, where status is
+ * SETTLED, DECLINED or REFUNDED. A header line is allowed.
+ */
+public record SettlementLine(long lineNumber, Long paymentId, Integer amount, String status) {
+
+    public static SettlementLine parse(long lineNumber, String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != 3) {
+            throw new IllegalArgumentException("Expected 3 columns, got " + columns.length);
+        }
+        String status = columns[2].trim().toUpperCase();
+        expectedPaymentStatus(status);
+        return new SettlementLine(lineNumber, Long.parseLong(columns[0].trim()), Integer.parseInt(columns[1].trim()), status);
+    }
+
+    public static boolean isHeader(String line) {
+        return !line.isEmpty() && !Character.isDigit(line.charAt(0));
+    }
+
+    public PaymentStatus expectedPaymentStatus() {
+        return expectedPaymentStatus(status);
+    }
+
+    private static PaymentStatus expectedPaymentStatus(String settlementStatus) {
+        return switch (settlementStatus) {
+            case "SETTLED" -> PaymentStatus.COMPLETED;
+            case "DECLINED" -> PaymentStatus.FAILED;
+            case "REFUNDED" -> PaymentStatus.CANCELLED;
+            default -> throw new IllegalArgumentException("Unknown settlement status " + settlementStatus);
+        };
+    }
+}
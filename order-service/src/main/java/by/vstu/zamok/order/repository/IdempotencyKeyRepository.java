@@ -0,0 +1,57 @@
+package by.vstu.zamok.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Plain JDBC on purpose: rows are re-read after another transaction commits them,
+ * which must not be answered from the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Entry(String requestHash, Long orderId, LocalDateTime createdAt) {
+    }
+
+    public Optional<Entry> find(String keyHash) {
+        return jdbcTemplate.query(
+                "SELECT request_hash, order_id, created_at FROM order_schema.idempotency_key WHERE key_hash = ?",
+                (rs, rowNum) -> new Entry(rs.getString("request_hash"), (Long) rs.getObject("order_id"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                keyHash).stream().findFirst();
+    }
+
+    /**
+     * Inserts the key, or takes over a row created before {@code expiredBefore}. If another
+     * transaction holds an uncommitted row for the same key, PostgreSQL blocks this statement
+     * until that transaction ends, so a concurrent duplicate waits for the first request.
+     *
+     * @return true if the caller now owns the key
+     */
+    public boolean claim(String keyHash, String requestHash, LocalDateTime now, LocalDateTime expiredBefore) {
+        return jdbcTemplate.update(
+                "INSERT INTO order_schema.idempotency_key (key_hash, request_hash, order_id, created_at) VALUES (?, ?, NULL, ?) " +
+                        "ON CONFLICT (key_hash) DO UPDATE SET request_hash = EXCLUDED.request_hash, order_id = NULL, created_at = EXCLUDED.created_at " +
+                        "WHERE idempotency_key.created_at < ?",
+                keyHash, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(expiredBefore)) == 1;
+    }
+
+    public void attachOrder(String keyHash, Long orderId) {
+        jdbcTemplate.update("UPDATE order_schema.idempotency_key SET order_id = ? WHERE key_hash = ?", orderId, keyHash);
+    }
+
+    public int deleteExpired(LocalDateTime expiredBefore, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM order_schema.idempotency_key WHERE key_hash IN " +
+                        "(SELECT key_hash FROM order_schema.idempotency_key WHERE created_at < ? LIMIT ?)",
+                Timestamp.valueOf(expiredBefore), limit);
+    }
+}
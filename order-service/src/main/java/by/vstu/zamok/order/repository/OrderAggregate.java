@@ -0,0 +1,21 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a GROUP BY over orders. {@code restaurantId} and {@code bucket} are only
+ * selected by the queries that group on them.
+ */
+public interface OrderAggregate {
+    OrderStatus getStatus();
+
+    Long getRestaurantId();
+
+    LocalDateTime getBucket();
+
+    long getOrders();
+
+    long getAmount();
+}
@@ -1,11 +1,46 @@
 package by.vstu.zamok.order.repository;
 
 import by.vstu.zamok.order.entity.Order;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
-    List<Order> findByOrderDateBetween(java.time.LocalDateTime from, java.time.LocalDateTime to);
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+    @Query("select o.status as status, count(o) as orders, coalesce(sum(o.totalPrice), 0) as amount " +
+            "from Order o where o.orderDate >= :from and o.orderDate < :to group by o.status")
+    List<OrderAggregate> aggregateByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select o.restaurantId as restaurantId, o.status as status, count(o) as orders, coalesce(sum(o.totalPrice), 0) as amount " +
+            "from Order o where o.orderDate >= :from and o.orderDate < :to group by o.restaurantId, o.status")
+    List<OrderAggregate> aggregateByRestaurantAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select truncate(o.orderDate, hour) as bucket, o.status as status, count(o) as orders, coalesce(sum(o.totalPrice), 0) as amount " +
+            "from Order o where o.orderDate >= :from and o.orderDate < :to group by truncate(o.orderDate, hour), o.status")
+    List<OrderAggregate> aggregateByHourAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select truncate(o.orderDate, day) as bucket, o.status as status, count(o) as orders, coalesce(sum(o.totalPrice), 0) as amount " +
+            "from Order o where o.orderDate >= :from and o.orderDate < :to group by truncate(o.orderDate, day), o.status")
+    List<OrderAggregate> aggregateByDayAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @EntityGraph(attributePaths = {"orderItems", "payment"})
+    Optional<Order> findWithDetailsById(Long id);
+
+    /**
+     * One page in keyset order. Payment is fetch-joined (to-one, safe with LIMIT);
+     * orderItems are batch-loaded for the whole page via {@code @BatchSize} on the collection.
+     */
+    default List<Order> findPage(Specification<Order> spec, int limit) {
+        return findBy(spec, query -> query
+                .sortBy(OrderSpecifications.KEYSET_SORT)
+                .limit(limit)
+                .project("payment")
+                .all());
+    }
 }
@@ -0,0 +1,49 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.dto.OrderCursor;
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class OrderSpecifications {
+
+    /** Keyset order matching the (order_date DESC, id DESC) indexes */
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> userIdEquals(Long userId) {
+        return (root, query, cb) -> userId == null ? null : cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Order> statusEquals(OrderStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Order> restaurantIdEquals(Long restaurantId) {
+        return (root, query, cb) -> restaurantId == null ? null : cb.equal(root.get("restaurantId"), restaurantId);
+    }
+
+    public static Specification<Order> orderDateFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("orderDate"), from);
+    }
+
+    public static Specification<Order> orderDateBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("orderDate"), to);
+    }
+
+    /** Rows strictly after the cursor in {@link #KEYSET_SORT} order */
+    public static Specification<Order> after(OrderCursor cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.or(
+                cb.lessThan(root.get("orderDate"), cursor.orderDate()),
+                cb.and(
+                        cb.equal(root.get("orderDate"), cursor.orderDate()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.entity.OrderStatsHourly;
+import by.vstu.zamok.order.entity.OrderStatsHourlyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queries mirror the raw ones in {@link OrderRepository}, but over whole hours:
+ * {@code from} and {@code to} must be hour-aligned. Rows whose orders all moved to another
+ * status stay at zero and are skipped, so they never show up as empty groups.
+ */
+public interface OrderStatsHourlyRepository extends JpaRepository<OrderStatsHourly, OrderStatsHourlyId> {
+
+    // Атомарный инкремент: параллельные заказы в один час не теряют обновления
+    @Modifying
+    @Query(value = "INSERT INTO order_schema.order_stats_hourly (restaurant_id, bucket_start, status, order_count, total_price) " +
+            "VALUES (:restaurantId, :bucketStart, :status, :orders, :amount) " +
+            "ON CONFLICT (restaurant_id, bucket_start, status) DO UPDATE SET " +
+            "order_count = order_stats_hourly.order_count + EXCLUDED.order_count, " +
+            "total_price = order_stats_hourly.total_price + EXCLUDED.total_price", nativeQuery = true)
+    void increment(@Param("restaurantId") Long restaurantId,
+                   @Param("bucketStart") LocalDateTime bucketStart,
+                   @Param("status") String status,
+                   @Param("orders") long orders,
+                   @Param("amount") long amount);
+
+    @Query("select s.id.status as status, sum(s.orderCount) as orders, sum(s.totalPrice) as amount " +
+            "from OrderStatsHourly s where s.id.bucketStart >= :from and s.id.bucketStart < :to and s.orderCount <> 0 group by s.id.status")
+    List<OrderAggregate> aggregateByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select s.id.restaurantId as restaurantId, s.id.status as status, sum(s.orderCount) as orders, sum(s.totalPrice) as amount " +
+            "from OrderStatsHourly s where s.id.bucketStart >= :from and s.id.bucketStart < :to and s.orderCount <> 0 group by s.id.restaurantId, s.id.status")
+    List<OrderAggregate> aggregateByRestaurantAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select s.id.bucketStart as bucket, s.id.status as status, sum(s.orderCount) as orders, sum(s.totalPrice) as amount " +
+            "from OrderStatsHourly s where s.id.bucketStart >= :from and s.id.bucketStart < :to and s.orderCount <> 0 group by s.id.bucketStart, s.id.status")
+    List<OrderAggregate> aggregateByHourAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select truncate(s.id.bucketStart, day) as bucket, s.id.status as status, sum(s.orderCount) as orders, sum(s.totalPrice) as amount " +
+            "from OrderStatsHourly s where s.id.bucketStart >= :from and s.id.bucketStart < :to and s.orderCount <> 0 group by truncate(s.id.bucketStart, day), s.id.status")
+    List<OrderAggregate> aggregateByDayAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
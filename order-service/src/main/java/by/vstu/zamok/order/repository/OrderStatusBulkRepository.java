@@ -0,0 +1,71 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based status changes that bypass the persistence context. Each call is one
+ * {@code UPDATE ... WHERE id = ANY(?) AND status = ? RETURNING ...}: rows that are not in
+ * {@code from} any more are simply not touched, so no locks or prior reads are needed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the updated orders as detached entities without items and payment.
+     */
+    public List<Order> transition(Collection<Long> ids, OrderStatus from, OrderStatus to) {
+        return jdbcTemplate.query(
+                "UPDATE order_schema.orders SET status = ?, version = version + 1 " +
+                        "WHERE id = ANY(?) AND status = ? " +
+                        "RETURNING id, user_id, restaurant_id, order_date, total_price, status, version",
+                ps -> {
+                    ps.setString(1, to.name());
+                    ps.setArray(2, idArray(ps, ids));
+                    ps.setString(3, from.name());
+                },
+                (rs, rowNum) -> {
+                    Order order = new Order();
+                    order.setId(rs.getLong("id"));
+                    order.setUserId(rs.getLong("user_id"));
+                    order.setRestaurantId(rs.getLong("restaurant_id"));
+                    order.setOrderDate(rs.getTimestamp("order_date").toLocalDateTime());
+                    order.setTotalPrice(rs.getInt("total_price"));
+                    order.setStatus(OrderStatus.valueOf(rs.getString("status")));
+                    order.setVersion(rs.getLong("version"));
+                    return order;
+                });
+    }
+
+    /**
+     * Current status and version of the given orders; ids that do not exist are absent.
+     */
+    public List<Order> findStatuses(Collection<Long> ids) {
+        return jdbcTemplate.query(
+                "SELECT id, status, version FROM order_schema.orders WHERE id = ANY(?)",
+                ps -> ps.setArray(1, idArray(ps, ids)),
+                (rs, rowNum) -> {
+                    Order order = new Order();
+                    order.setId(rs.getLong("id"));
+                    order.setStatus(OrderStatus.valueOf(rs.getString("status")));
+                    order.setVersion(rs.getLong("version"));
+                    return order;
+                });
+    }
+
+    private static Array idArray(PreparedStatement ps, Collection<Long> ids) throws SQLException {
+        return ps.getConnection().createArrayOf("bigint", ids.toArray());
+    }
+}
@@ -0,0 +1,14 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = "SELECT * FROM order_schema.outbox ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findBatch(@Param("limit") int limit);
+}
@@ -1,9 +1,38 @@
 package by.vstu.zamok.order.repository;
 
 import by.vstu.zamok.order.entity.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    @Query("select p from Payment p join fetch p.order where p.id = :id")
+    Optional<Payment> findWithOrderById(@Param("id") Long id);
+
+    // Платёж отменённого заказа не списываем: его переводит в CANCELLED путь отмены
+    @Query("select p.id from Payment p where p.status = 'PENDING' and p.order.orderDate < :before " +
+            "and p.order.status <> by.vstu.zamok.order.entity.OrderStatus.CANCELLED order by p.id")
+    List<Long> findPendingIds(@Param("before") LocalDateTime before, Limit limit);
+
+    @Query("select p from Payment p join fetch p.order where p.order.id in :orderIds and p.status = 'PENDING'")
+    List<Payment> findPendingByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // Одна выборка на чанк строк файла сверки, id отсортированы — чтение идёт по PK
+    @Query("select p.id as id, p.amount as amount, p.status as status from Payment p where p.id in :ids order by p.id")
+    List<PaymentSettlementView> findSettlementViews(@Param("ids") Collection<Long> ids);
+
+    // Условный переход: повторная обработка того же платежа ничего не меняет
+    @Modifying
+    @Query("update Payment p set p.status = :status where p.id = :id and p.status = 'PENDING'")
+    int completePending(@Param("id") Long id, @Param("status") String status);
 }
@@ -0,0 +1,12 @@
+package by.vstu.zamok.order.repository;
+
+/**
+ * Just the columns reconciliation compares; no entity, no order join.
+ */
+public interface PaymentSettlementView {
+    Long getId();
+
+    Integer getAmount();
+
+    String getStatus();
+}
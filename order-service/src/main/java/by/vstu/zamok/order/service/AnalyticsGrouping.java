@@ -0,0 +1,63 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.dto.AnalyticsGroupDto;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.repository.OrderAggregate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Folds GROUP BY rows (rollup and raw edges mixed, several rows per key) into the analytics
+ * groups. Kept apart from the service so the in-memory part can be measured on its own.
+ */
+public final class AnalyticsGrouping {
+
+    private AnalyticsGrouping() {
+    }
+
+    public static AnalyticsGroupDto total(List<OrderAggregate> rows) {
+        AnalyticsGroupDto totals = new AnalyticsGroupDto();
+        rows.forEach(row -> accumulate(totals, row));
+        return totals;
+    }
+
+    /** Groups ordered by bucket start. */
+    public static List<AnalyticsGroupDto> byBucket(List<OrderAggregate> rows) {
+        Map<LocalDateTime, AnalyticsGroupDto> buckets = new TreeMap<>();
+        for (OrderAggregate row : rows) {
+            AnalyticsGroupDto group = buckets.computeIfAbsent(row.getBucket(), key -> {
+                AnalyticsGroupDto dto = new AnalyticsGroupDto();
+                dto.setBucket(key);
+                return dto;
+            });
+            accumulate(group, row);
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    /** Groups ordered by restaurant id. */
+    public static List<AnalyticsGroupDto> byRestaurant(List<OrderAggregate> rows) {
+        Map<Long, AnalyticsGroupDto> restaurants = new TreeMap<>();
+        for (OrderAggregate row : rows) {
+            AnalyticsGroupDto group = restaurants.computeIfAbsent(row.getRestaurantId(), key -> {
+                AnalyticsGroupDto dto = new AnalyticsGroupDto();
+                dto.setRestaurantId(key);
+                return dto;
+            });
+            accumulate(group, row);
+        }
+        return new ArrayList<>(restaurants.values());
+    }
+
+    private static void accumulate(AnalyticsGroupDto group, OrderAggregate row) {
+        group.setTotalOrders(group.getTotalOrders() + row.getOrders());
+        if (row.getStatus() == OrderStatus.COMPLETED) {
+            group.setRevenue(group.getRevenue() + row.getAmount());
+        }
+        group.getByStatus().merge(row.getStatus().name(), row.getOrders(), Long::sum);
+    }
+}
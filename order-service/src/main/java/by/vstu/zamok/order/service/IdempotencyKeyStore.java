@@ -0,0 +1,115 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.exception.InvalidRequestException;
+import by.vstu.zamok.order.exception.OrderConflictException;
+import by.vstu.zamok.order.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Dedup store behind the {@code Idempotency-Key} header. Only hashes are kept: the key is
+ * scoped to the caller (JWT subject) and the request body is fingerprinted so that a reused
+ * key with a different order is rejected instead of silently replayed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyStore {
+
+    static final int MAX_KEY_LENGTH = 255;
+    private static final int PURGE_BATCH = 10_000;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    public String keyHash(String subject, String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        return sha256((subject + ':' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String requestHash(Object request) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize request for Idempotency-Key", e);
+        }
+    }
+
+    /**
+     * Must run in the transaction that creates the order, so the key and the order commit
+     * (or roll back) together.
+     *
+     * @return the id of the order created earlier with this key, or empty if the caller
+     * owns the key now and must create the order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Long> claim(String keyHash, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiredBefore = now.minus(ttl);
+
+        // Обычный повтор: одно чтение по PK вместо вставки заказа
+        Optional<IdempotencyKeyRepository.Entry> existing = repository.find(keyHash)
+                .filter(entry -> !entry.createdAt().isBefore(expiredBefore));
+        if (existing.isEmpty() && repository.claim(keyHash, requestHash, now, expiredBefore)) {
+            return Optional.empty();
+        }
+
+        // Либо ключ уже был, либо мы дождались коммита параллельного запроса с тем же ключом
+        IdempotencyKeyRepository.Entry entry = existing.or(() -> repository.find(keyHash))
+                .orElseThrow(() -> new OrderConflictException("Request with this Idempotency-Key is still in progress, retry later"));
+        if (!entry.requestHash().equals(requestHash)) {
+            throw new OrderConflictException("Idempotency-Key was already used with a different request");
+        }
+        if (entry.orderId() == null) {
+            throw new OrderConflictException("Request with this Idempotency-Key is still in progress, retry later");
+        }
+        return Optional.of(entry.orderId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(String keyHash, Long orderId) {
+        repository.attachOrder(keyHash, orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(ttl);
+        int deleted;
+        int total = 0;
+        do {
+            deleted = repository.deleteExpired(expiredBefore, PURGE_BATCH);
+            total += deleted;
+        } while (deleted == PURGE_BATCH);
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.entity.Order;
+
+import java.util.Map;
+
+/**
+ * Outcome of one order in a batch: either the saved {@code order} or validation {@code errors}.
+ */
+public record OrderBatchItem(int index, Order order, Map<String, String> errors) {
+
+    public boolean created() {
+        return order != null;
+    }
+}
@@ -0,0 +1,8 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.entity.Order;
+
+import java.util.List;
+
+public record OrderPage(List<Order> orders, String nextCursor, Long total) {
+}
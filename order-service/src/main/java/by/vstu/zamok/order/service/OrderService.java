@@ -1,5 +1,8 @@
 package by.vstu.zamok.order.service;
 
+import by.vstu.zamok.order.dto.AnalyticsBucket;
+import by.vstu.zamok.order.dto.AnalyticsSummaryDto;
+import by.vstu.zamok.order.dto.OrderPageRequest;
 import by.vstu.zamok.order.dto.OrderRequestDto;
 import by.vstu.zamok.order.entity.Order;
 import by.vstu.zamok.order.entity.OrderStatus;
@@ -10,13 +13,19 @@ import java.util.List;
 public interface OrderService {
     Order placeOrder(OrderRequestDto orderRequestDto, JwtAuthenticationToken authentication);
 
-    List<Order> getAllOrders(JwtAuthenticationToken authentication);
+    PlacedOrder placeOrder(OrderRequestDto orderRequestDto, JwtAuthenticationToken authentication, String idempotencyKey);
+
+    List<OrderBatchItem> placeOrders(List<OrderRequestDto> orderRequests, JwtAuthenticationToken authentication);
+
+    OrderPage getOrders(OrderPageRequest pageRequest, JwtAuthenticationToken authentication);
 
     Order getOrderById(Long id, JwtAuthenticationToken authentication);
 
-    Order updateOrderStatus(Long id, OrderStatus status);
+    Order updateOrderStatus(Long id, OrderStatus status, Long expectedVersion);
+
+    List<OrderStatusBatchItem> updateOrderStatuses(List<Long> ids, OrderStatus status);
 
     Order cancelOrder(Long id, JwtAuthenticationToken authentication);
 
-    Object analyticsSummary(String from, String to);
+    AnalyticsSummaryDto analyticsSummary(String from, String to, AnalyticsBucket bucket, boolean byRestaurant);
 }
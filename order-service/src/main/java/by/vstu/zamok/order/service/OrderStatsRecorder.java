@@ -0,0 +1,88 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatsHourlyId;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.repository.OrderStatsHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code order_stats_hourly} in step with orders. Must be called in the
+ * transaction that changes the order, so the rollup never drifts from raw data.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderStatsRecorder {
+
+    private final OrderStatsHourlyRepository statsRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        ordersPlaced(List.of(order));
+    }
+
+    /**
+     * Orders that fall into the same rollup row are summed first, so a batch costs
+     * one upsert per (restaurant, hour, status) instead of one per order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersPlaced(List<Order> orders) {
+        Map<OrderStatsHourlyId, long[]> deltas = new LinkedHashMap<>();
+        for (Order order : orders) {
+            long[] delta = deltas.computeIfAbsent(idOf(order, order.getStatus()), key -> new long[2]);
+            delta[0]++;
+            delta[1] += order.getTotalPrice();
+        }
+        deltas.forEach((id, delta) -> increment(id, delta[0], delta[1]));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, OrderStatus previous) {
+        if (previous == order.getStatus()) {
+            return;
+        }
+        add(order, previous, -1);
+        add(order, order.getStatus(), 1);
+    }
+
+    /**
+     * Bulk variant of {@link #statusChanged} for orders that all left the same status:
+     * deltas are summed per rollup row first, as in {@link #ordersPlaced}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusesChanged(List<Order> orders, OrderStatus previous) {
+        Map<OrderStatsHourlyId, long[]> deltas = new LinkedHashMap<>();
+        for (Order order : orders) {
+            if (previous == order.getStatus()) {
+                continue;
+            }
+            long[] removed = deltas.computeIfAbsent(idOf(order, previous), key -> new long[2]);
+            removed[0]--;
+            removed[1] -= order.getTotalPrice();
+            long[] added = deltas.computeIfAbsent(idOf(order, order.getStatus()), key -> new long[2]);
+            added[0]++;
+            added[1] += order.getTotalPrice();
+        }
+        deltas.forEach((id, delta) -> increment(id, delta[0], delta[1]));
+    }
+
+    private void add(Order order, OrderStatus status, int sign) {
+        increment(idOf(order, status), sign, (long) sign * order.getTotalPrice());
+    }
+
+    private void increment(OrderStatsHourlyId id, long orders, long amount) {
+        statsRepository.increment(id.getRestaurantId(), id.getBucketStart(), id.getStatus().name(), orders, amount);
+    }
+
+    private static OrderStatsHourlyId idOf(Order order, OrderStatus status) {
+        return new OrderStatsHourlyId(order.getRestaurantId(), order.getOrderDate().truncatedTo(ChronoUnit.HOURS), status);
+    }
+}
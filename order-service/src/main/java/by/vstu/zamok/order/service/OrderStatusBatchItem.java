@@ -0,0 +1,10 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.dto.OrderStatusBatchOutcome;
+import by.vstu.zamok.order.entity.OrderStatus;
+
+/**
+ * Outcome for one id of a bulk status change; status and version are null when the order does not exist.
+ */
+public record OrderStatusBatchItem(Long id, OrderStatusBatchOutcome outcome, OrderStatus status, Long version) {
+}
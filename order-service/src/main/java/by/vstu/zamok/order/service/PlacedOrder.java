@@ -0,0 +1,10 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.entity.Order;
+
+/**
+ * Result of {@code POST /api/orders}; {@code replayed} means the Idempotency-Key was seen
+ * before and no new order was created.
+ */
+public record PlacedOrder(Order order, boolean replayed) {
+}
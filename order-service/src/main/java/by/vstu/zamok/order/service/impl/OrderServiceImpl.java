@@ -1,22 +1,49 @@
 package by.vstu.zamok.order.service.impl;
 
+import by.vstu.zamok.order.catalog.DishPriceCatalog;
 import by.vstu.zamok.order.client.UserServiceClient;
+import by.vstu.zamok.order.dto.AnalyticsBucket;
+import by.vstu.zamok.order.dto.AnalyticsGroupDto;
+import by.vstu.zamok.order.dto.AnalyticsSummaryDto;
+import by.vstu.zamok.order.dto.OrderCursor;
+import by.vstu.zamok.order.dto.OrderPageRequest;
 import by.vstu.zamok.order.dto.OrderRequestDto;
+import by.vstu.zamok.order.dto.OrderStatusBatchOutcome;
 import by.vstu.zamok.order.entity.Order;
 import by.vstu.zamok.order.entity.OrderItem;
 import by.vstu.zamok.order.entity.OrderStatus;
 import by.vstu.zamok.order.entity.Payment;
 import by.vstu.zamok.order.entity.PaymentStatus;
 import by.vstu.zamok.order.event.OrderCreatedEvent;
+import by.vstu.zamok.order.event.OrderEventPublisher;
 import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import by.vstu.zamok.order.exception.InvalidRequestException;
+import by.vstu.zamok.order.exception.OrderConflictException;
 import by.vstu.zamok.order.exception.ResourceNotFoundException;
 import by.vstu.zamok.order.mapper.OrderMapper;
+import by.vstu.zamok.order.payment.PaymentProcessor;
+import by.vstu.zamok.order.payment.PaymentRequestedEvent;
 import by.vstu.zamok.order.payment.PaymentStrategyFactory;
+import by.vstu.zamok.order.repository.OrderAggregate;
 import by.vstu.zamok.order.repository.OrderRepository;
+import by.vstu.zamok.order.repository.OrderSpecifications;
+import by.vstu.zamok.order.repository.OrderStatsHourlyRepository;
+import by.vstu.zamok.order.repository.OrderStatusBulkRepository;
+import by.vstu.zamok.order.service.AnalyticsGrouping;
+import by.vstu.zamok.order.service.IdempotencyKeyStore;
+import by.vstu.zamok.order.service.OrderBatchItem;
+import by.vstu.zamok.order.service.OrderPage;
 import by.vstu.zamok.order.service.OrderService;
+import by.vstu.zamok.order.service.OrderStatusBatchItem;
+import by.vstu.zamok.order.service.PlacedOrder;
+import by.vstu.zamok.order.service.OrderStatsRecorder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
@@ -24,11 +51,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 @Service
 @RequiredArgsConstructor
@@ -36,9 +70,17 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OrderEventPublisher orderEventPublisher;
     private final UserServiceClient userServiceClient;
     private final PaymentStrategyFactory paymentStrategyFactory;
+    private final OrderStatsRecorder orderStatsRecorder;
+    private final OrderStatsHourlyRepository orderStatsHourlyRepository;
+    private final OrderStatusBulkRepository orderStatusBulkRepository;
+    private final Validator validator;
+    private final DishPriceCatalog dishPriceCatalog;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PaymentProcessor paymentProcessor;
 
     @Value("${order.kafka.topic:order-created}")
     private String ORDER_CREATED_TOPIC;
@@ -46,11 +88,104 @@ public class OrderServiceImpl implements OrderService {
     @Value("${order.kafka.status-topic:order-status-changed}")
     private String ORDER_STATUS_CHANGED_TOPIC;
 
+    // 1 — старый формат (orderId, userId) для консьюмеров, ещё не перешедших на v2
+    @Value("${order.kafka.created-event-version:2}")
+    private int createdEventVersion;
+
     @Override
     @Transactional
     public Order placeOrder(OrderRequestDto orderRequestDto, JwtAuthenticationToken authentication) {
         Long userId = userServiceClient.resolveUserId(authentication);
 
+        Order savedOrder = orderRepository.save(buildOrder(orderRequestDto, userId));
+        orderStatsRecorder.orderPlaced(savedOrder);
+
+        // Событие уходит в Kafka через outbox после коммита
+        orderEventPublisher.publish(ORDER_CREATED_TOPIC, savedOrder, createdEvent(savedOrder));
+        requestPayments(List.of(savedOrder));
+
+        return savedOrder;
+    }
+
+    /**
+     * With an Idempotency-Key a retry costs one key lookup and returns the order created by
+     * the first attempt; a retry that overlaps the first attempt waits for it on the key row.
+     */
+    @Override
+    @Transactional
+    public PlacedOrder placeOrder(OrderRequestDto orderRequestDto, JwtAuthenticationToken authentication, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new PlacedOrder(placeOrder(orderRequestDto, authentication), false);
+        }
+        String keyHash = idempotencyKeyStore.keyHash(authentication.getName(), idempotencyKey);
+        Optional<Long> existingOrderId = idempotencyKeyStore.claim(keyHash, idempotencyKeyStore.requestHash(orderRequestDto));
+        if (existingOrderId.isPresent()) {
+            Order existing = orderRepository.findWithDetailsById(existingOrderId.get())
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + existingOrderId.get()));
+            return new PlacedOrder(existing, true);
+        }
+        Order order = placeOrder(orderRequestDto, authentication);
+        idempotencyKeyStore.complete(keyHash, order.getId());
+        return new PlacedOrder(order, false);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderBatchItem> placeOrders(List<OrderRequestDto> orderRequests, JwtAuthenticationToken authentication) {
+        Long userId = userServiceClient.resolveUserId(authentication);
+
+        List<OrderBatchItem> results = new ArrayList<>(orderRequests.size());
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < orderRequests.size(); i++) {
+            OrderRequestDto orderRequestDto = orderRequests.get(i);
+            Map<String, String> errors = validate(orderRequestDto);
+            Order order = null;
+            if (errors.isEmpty()) {
+                try {
+                    order = buildOrder(orderRequestDto, userId);
+                } catch (InvalidRequestException e) {
+                    errors.put("items", e.getMessage());
+                }
+            }
+            if (order != null) {
+                orders.add(order);
+                results.add(new OrderBatchItem(i, order, null));
+            } else {
+                results.add(new OrderBatchItem(i, null, errors));
+            }
+        }
+        if (orders.isEmpty()) {
+            return results;
+        }
+
+        // id из pooled sequence известны до INSERT, поэтому заказы, позиции и платежи уходят JDBC-батчами
+        orderRepository.saveAll(orders);
+        orderStatsRecorder.ordersPlaced(orders);
+
+        orderEventPublisher.publishAll(ORDER_CREATED_TOPIC, orders, this::createdEvent);
+        requestPayments(orders);
+        return results;
+    }
+
+    // Шлюз вызывается только после коммита, вне транзакции заказа
+    private void requestPayments(List<Order> orders) {
+        List<Long> paymentIds = orders.stream()
+                .map(Order::getPayment)
+                .filter(payment -> PaymentStatus.PENDING.name().equals(payment.getStatus()))
+                .map(Payment::getId)
+                .toList();
+        if (!paymentIds.isEmpty()) {
+            applicationEventPublisher.publishEvent(new PaymentRequestedEvent(paymentIds));
+        }
+    }
+
+    private OrderCreatedEvent createdEvent(Order order) {
+        return createdEventVersion == 1
+                ? new OrderCreatedEvent(order.getId(), order.getUserId())
+                : OrderCreatedEvent.of(order);
+    }
+
+    private Order buildOrder(OrderRequestDto orderRequestDto, Long userId) {
         Order order = orderMapper.toEntity(orderRequestDto);
         order.setStatus(OrderStatus.PENDING);
         order.setUserId(userId); // Заменено 1L на реальный ID
@@ -60,9 +195,8 @@ public class OrderServiceImpl implements OrderService {
         if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
             for (OrderItem item : order.getOrderItems()) {
                 item.setOrder(order);
-                if (item.getPrice() == null) {
-                    item.setPrice(100);
-                }
+                // Цена фиксируется в заказе из локальной реплики меню, без запроса в restaurant-service
+                item.setPrice(dishPriceCatalog.require(item.getDishId(), order.getRestaurantId()).price());
                 totalPrice += item.getPrice() * item.getQuantity();
             }
         } else {
@@ -76,30 +210,52 @@ public class OrderServiceImpl implements OrderService {
         payment.setOrder(order);
         paymentStrategyFactory.forMethod(orderRequestDto.getPaymentMethod()).apply(payment);
         order.setPayment(payment);
+        return order;
+    }
 
-        Order savedOrder = orderRepository.save(order);
-
-        // Публикация события в Kafka
-        kafkaTemplate.send(ORDER_CREATED_TOPIC, new OrderCreatedEvent(savedOrder.getId(), savedOrder.getUserId()));
-
-        return savedOrder;
+    private Map<String, String> validate(OrderRequestDto orderRequestDto) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (orderRequestDto == null) {
+            errors.put("order", "order must not be null");
+            return errors;
+        }
+        for (ConstraintViolation<OrderRequestDto> violation : validator.validate(orderRequestDto)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders(JwtAuthenticationToken authentication) {
-        if (isAdmin(authentication)) {
-            return orderRepository.findAll();
-        } else {
-            Long userId = userServiceClient.resolveUserId(authentication);
-            return orderRepository.findByUserId(userId); // Заменено 1L
+    public OrderPage getOrders(OrderPageRequest pageRequest, JwtAuthenticationToken authentication) {
+        Long userId = isAdmin(authentication) ? null : userServiceClient.resolveUserId(authentication);
+
+        Specification<Order> filter = Specification.allOf(
+                OrderSpecifications.userIdEquals(userId),
+                OrderSpecifications.statusEquals(pageRequest.getStatus()),
+                OrderSpecifications.restaurantIdEquals(pageRequest.getRestaurantId()),
+                OrderSpecifications.orderDateFrom(pageRequest.getFrom()),
+                OrderSpecifications.orderDateBefore(pageRequest.getTo()));
+        OrderCursor cursor = pageRequest.getCursor() == null ? null : OrderCursor.decode(pageRequest.getCursor());
+
+        int limit = pageRequest.getLimit();
+        // Берём на одну запись больше, чтобы понять, есть ли следующая страница
+        List<Order> orders = orderRepository.findPage(filter.and(OrderSpecifications.after(cursor)), limit + 1);
+
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            Order last = orders.get(limit - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
         }
+        Long total = pageRequest.isWithTotal() ? orderRepository.count(filter) : null;
+        return new OrderPage(orders, nextCursor, total);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Order getOrderById(Long id, JwtAuthenticationToken authentication) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
 
         if (isAdmin(authentication)) {
@@ -117,14 +273,64 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public Order updateOrderStatus(Long id, OrderStatus status) {
+    public Order updateOrderStatus(Long id, OrderStatus status, Long expectedVersion) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
 
-        order.setStatus(status);
-        Order saved = orderRepository.save(order);
-        kafkaTemplate.send(ORDER_STATUS_CHANGED_TOPIC, new OrderStatusChangedEvent(saved.getId(), saved.getStatus()));
-        return saved;
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new OrderConflictException("Order " + id + " was modified: version is " + order.getVersion()
+                    + ", expected " + expectedVersion);
+        }
+        return transition(order, status);
+    }
+
+    /**
+     * One conditional UPDATE per status the target can be reached from (usually just one),
+     * then a lookup only for the ids that were not updated. Rollup and outbox rows are
+     * written in batches as well.
+     */
+    @Override
+    @Transactional
+    public List<OrderStatusBatchItem> updateOrderStatuses(List<Long> ids, OrderStatus status) {
+        Set<Long> pending = new LinkedHashSet<>(ids);
+        Map<Long, Order> updated = new HashMap<>();
+        for (OrderStatus from : status.previous()) {
+            if (pending.isEmpty()) {
+                break;
+            }
+            List<Order> orders = orderStatusBulkRepository.transition(pending, from, status);
+            if (orders.isEmpty()) {
+                continue;
+            }
+            orderStatsRecorder.statusesChanged(orders, from);
+            orderEventPublisher.publishAll(ORDER_STATUS_CHANGED_TOPIC, orders,
+                    order -> new OrderStatusChangedEvent(order.getId(), order.getStatus(), order.getUserId()));
+            orders.forEach(order -> {
+                updated.put(order.getId(), order);
+                pending.remove(order.getId());
+            });
+        }
+        if (status == OrderStatus.CANCELLED && !updated.isEmpty()) {
+            paymentProcessor.cancelPending(updated.keySet());
+        }
+
+        Map<Long, Order> current = new HashMap<>();
+        if (!pending.isEmpty()) {
+            orderStatusBulkRepository.findStatuses(pending).forEach(order -> current.put(order.getId(), order));
+        }
+
+        List<OrderStatusBatchItem> results = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Order order = updated.get(id);
+            if (order != null) {
+                results.add(new OrderStatusBatchItem(id, OrderStatusBatchOutcome.UPDATED, order.getStatus(), order.getVersion()));
+            } else if ((order = current.get(id)) != null) {
+                results.add(new OrderStatusBatchItem(id, OrderStatusBatchOutcome.CONFLICT, order.getStatus(), order.getVersion()));
+            } else {
+                results.add(new OrderStatusBatchItem(id, OrderStatusBatchOutcome.NOT_FOUND, null, null));
+            }
+        }
+        return results;
     }
 
     @Override
@@ -140,31 +346,91 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
-        if (order.getStatus() == OrderStatus.COMPLETED || order.getStatus() == OrderStatus.CANCELLED) {
+        if (order.getStatus().isFinal()) {
             return order; // idempotent
         }
-        order.setStatus(OrderStatus.CANCELLED);
-        Order saved = orderRepository.save(order);
-        kafkaTemplate.send(ORDER_STATUS_CHANGED_TOPIC, new OrderStatusChangedEvent(saved.getId(), saved.getStatus()));
+        return transition(order, OrderStatus.CANCELLED);
+    }
+
+    /**
+     * Illegal transitions are rejected before touching the database. The change itself is a single
+     * version-checked UPDATE, flushed right away so a concurrent writer gets 409 instead of
+     * silently overwriting and before stats/outbox rows are written.
+     */
+    private Order transition(Order order, OrderStatus status) {
+        OrderStatus previous = order.getStatus();
+        if (!previous.canTransitionTo(status)) {
+            throw new OrderConflictException("Order " + order.getId() + " cannot move from " + previous + " to " + status);
+        }
+        order.setStatus(status);
+        Order saved;
+        try {
+            saved = orderRepository.saveAndFlush(order);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new OrderConflictException("Order " + order.getId() + " was modified concurrently, reload and retry", e);
+        }
+        orderStatsRecorder.statusChanged(saved, previous);
+        orderEventPublisher.publish(ORDER_STATUS_CHANGED_TOPIC, saved, new OrderStatusChangedEvent(saved.getId(), saved.getStatus(), saved.getUserId()));
+        if (status == OrderStatus.CANCELLED) {
+            paymentProcessor.cancelPending(List.of(saved.getId()));
+        }
         return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Object analyticsSummary(String from, String to) {
+    public AnalyticsSummaryDto analyticsSummary(String from, String to, AnalyticsBucket bucket, boolean byRestaurant) {
         LocalDateTime start = Optional.ofNullable(from).map(LocalDateTime::parse).orElse(LocalDateTime.now().minusDays(7));
         LocalDateTime end = Optional.ofNullable(to).map(LocalDateTime::parse).orElse(LocalDateTime.now());
-        List<Order> list = orderRepository.findByOrderDateBetween(start, end);
-        int total = list.size();
-        int revenue = list.stream().filter(o -> o.getStatus() == OrderStatus.COMPLETED).mapToInt(Order::getTotalPrice).sum();
-        Map<String, Long> byStatus = list.stream().collect(java.util.stream.Collectors.groupingBy(o -> o.getStatus().name(), java.util.stream.Collectors.counting()));
-        return java.util.Map.of(
-                "from", start.toString(),
-                "to", end.toString(),
-                "totalOrders", total,
-                "revenue", revenue,
-                "byStatus", byStatus
-        );
+
+        // Всё считается в БД: в память попадают только строки GROUP BY
+        AnalyticsGroupDto totals = AnalyticsGrouping.total(
+                aggregate(start, end, orderRepository::aggregateByStatus, orderStatsHourlyRepository::aggregateByStatus));
+
+        AnalyticsSummaryDto summary = new AnalyticsSummaryDto();
+        summary.setFrom(start.toString());
+        summary.setTo(end.toString());
+        summary.setTotalOrders(totals.getTotalOrders());
+        summary.setRevenue(totals.getRevenue());
+        summary.setByStatus(totals.getByStatus());
+
+        if (bucket != null) {
+            summary.setBuckets(AnalyticsGrouping.byBucket(bucket == AnalyticsBucket.HOUR
+                    ? aggregate(start, end, orderRepository::aggregateByHourAndStatus, orderStatsHourlyRepository::aggregateByHourAndStatus)
+                    : aggregate(start, end, orderRepository::aggregateByDayAndStatus, orderStatsHourlyRepository::aggregateByDayAndStatus)));
+        }
+
+        if (byRestaurant) {
+            summary.setByRestaurant(AnalyticsGrouping.byRestaurant(aggregate(start, end,
+                    orderRepository::aggregateByRestaurantAndStatus, orderStatsHourlyRepository::aggregateByRestaurantAndStatus)));
+        }
+        return summary;
+    }
+
+    /**
+     * Whole hours inside [start, end) come from the hourly rollup; only the partial
+     * hours at both edges are aggregated from raw orders. Callers merge the rows by key.
+     */
+    private static List<OrderAggregate> aggregate(LocalDateTime start, LocalDateTime end,
+                                                  BiFunction<LocalDateTime, LocalDateTime, List<OrderAggregate>> raw,
+                                                  BiFunction<LocalDateTime, LocalDateTime, List<OrderAggregate>> rollup) {
+        LocalDateTime firstHour = start.truncatedTo(ChronoUnit.HOURS);
+        if (firstHour.isBefore(start)) {
+            firstHour = firstHour.plusHours(1);
+        }
+        LocalDateTime lastHour = end.truncatedTo(ChronoUnit.HOURS);
+        if (!firstHour.isBefore(lastHour)) {
+            return raw.apply(start, end);
+        }
+
+        List<OrderAggregate> rows = new ArrayList<>(rollup.apply(firstHour, lastHour));
+        if (start.isBefore(firstHour)) {
+            rows.addAll(raw.apply(start, firstHour));
+        }
+        if (lastHour.isBefore(end)) {
+            rows.addAll(raw.apply(lastHour, end));
+        }
+        return rows;
     }
 
     private boolean isAdmin(JwtAuthenticationToken authentication) {
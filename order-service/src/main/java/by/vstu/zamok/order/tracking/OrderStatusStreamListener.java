@@ -0,0 +1,60 @@
+package by.vstu.zamok.order.tracking;
+
+import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import by.vstu.zamok.order.event.avro.AvroEventDeserializer;
+import by.vstu.zamok.order.event.avro.EventCodecs;
+import by.vstu.zamok.order.event.avro.EventSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * One consumer per instance feeds all tracking streams of that instance. Like the dish
+ * catalog listener it uses its own group and starts from the latest offset: a stream only
+ * needs changes that happen while it is open. Values are read as bytes and decoded as
+ * JSON or Avro depending on {@code order.kafka.binary-topics}.
+ */
+@Component
+public class OrderStatusStreamListener {
+
+    private final OrderTrackingHub hub;
+    private final ObjectMapper objectMapper;
+    private final AvroEventDeserializer avroDeserializer;
+    private final List<String> binaryTopics;
+
+    public OrderStatusStreamListener(OrderTrackingHub hub, ObjectMapper objectMapper, EventSchemaRegistry eventSchemaRegistry,
+                                     @Value("${order.kafka.binary-topics:}") List<String> binaryTopics) {
+        this.hub = hub;
+        this.objectMapper = objectMapper;
+        this.avroDeserializer = new AvroEventDeserializer(eventSchemaRegistry, EventCodecs.orderEvents());
+        this.binaryTopics = binaryTopics.stream().map(String::trim).toList();
+    }
+
+    @KafkaListener(
+            topics = "${order.kafka.status-topic:order-status-changed}",
+            groupId = "order-service-tracking-${random.uuid}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.deserializer.value.delegate.class=org.apache.kafka.common.serialization.ByteArrayDeserializer"
+            })
+    public void onStatusChanged(ConsumerRecord<String, byte[]> record) {
+        hub.dispatch(decode(record));
+    }
+
+    private OrderStatusChangedEvent decode(ConsumerRecord<String, byte[]> record) {
+        if (binaryTopics.contains(record.topic())) {
+            return (OrderStatusChangedEvent) avroDeserializer.deserialize(record.topic(), record.value());
+        }
+        try {
+            return objectMapper.readValue(record.value(), OrderStatusChangedEvent.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable status event at offset " + record.offset(), e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package by.vstu.zamok.order.tracking;
+
+import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open SSE streams by user. Streams are async requests, so an idle connection holds no
+ * servlet thread, only an entry here. Events arrive from {@link OrderStatusStreamListener}
+ * and are written to the owner's streams; a failed write drops the stream.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OrderTrackingProperties.class)
+public class OrderTrackingHub {
+
+    static final String STATUS_EVENT = "order-status";
+
+    private final Map<Long, List<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final OrderTrackingProperties properties;
+
+    public OrderTrackingHub(OrderTrackingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("order.tracking.streams", open, AtomicInteger::get)
+                .description("Open order tracking SSE streams on this instance")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = newEmitter();
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(userId, emitter));
+
+        // добавление и вытеснение в одной операции над ключом, иначе remove() может выкинуть
+        // опустевший список из map, пока в него добавляют новый поток
+        List<SseEmitter> evicted = new ArrayList<>();
+        streams.compute(userId, (key, userStreams) -> {
+            List<SseEmitter> updated = userStreams != null ? userStreams : new CopyOnWriteArrayList<>();
+            updated.add(emitter);
+            open.incrementAndGet();
+            while (updated.size() > properties.getMaxStreamsPerUser()) {
+                evicted.add(updated.remove(0));
+                open.decrementAndGet();
+            }
+            return updated;
+        });
+        evicted.forEach(SseEmitter::complete);
+        return emitter;
+    }
+
+    public void dispatch(OrderStatusChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        List<SseEmitter> userStreams = streams.get(event.userId());
+        if (userStreams == null) {
+            return;
+        }
+        for (SseEmitter emitter : userStreams) {
+            send(event.userId(), emitter, SseEmitter.event()
+                    .name(STATUS_EVENT)
+                    .id(event.orderId() + ":" + event.status())
+                    .data(event));
+        }
+    }
+
+    /**
+     * Comment line every interval: keeps proxies from closing idle streams and finds
+     * clients that went away without closing the connection.
+     */
+    @Scheduled(fixedDelayString = "${order.tracking.heartbeat-interval:25s}")
+    public void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (SseEmitter emitter : userStreams) {
+                send(userId, emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(properties.getEmitterTimeout().toMillis());
+    }
+
+    int openStreams() {
+        return open.get();
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // клиент отключился или поток уже завершён
+            log.debug("Dropping tracking stream of user {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (key, userStreams) -> {
+            if (userStreams.remove(emitter)) {
+                open.decrementAndGet();
+            }
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
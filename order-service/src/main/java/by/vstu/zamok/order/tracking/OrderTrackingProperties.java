@@ -0,0 +1,16 @@
+package by.vstu.zamok.order.tracking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.tracking")
+public class OrderTrackingProperties {
+    /** Stream is closed after this; clients reconnect (EventSource does it automatically) */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /** Open streams per user; the oldest one is closed when a new one exceeds it */
+    private int maxStreamsPerUser = 5;
+}
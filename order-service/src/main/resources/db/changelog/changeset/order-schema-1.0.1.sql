@@ -19,18 +19,24 @@ CREATE INDEX IF NOT EXISTS idx_orders_restaurant_id ON order_schema.orders(resta
 CREATE INDEX IF NOT EXISTS idx_order_item_order_id ON order_schema.order_item(order_id);
 CREATE INDEX IF NOT EXISTS idx_payment_order_id ON order_schema.payment(order_id);
 
---changeset copilot:os-constraints-003
-ALTER TABLE order_schema.orders
-    ADD CONSTRAINT IF NOT EXISTS chk_orders_total_price_non_negative CHECK (total_price >= 0);
-
-ALTER TABLE order_schema.order_item
-    ADD CONSTRAINT IF NOT EXISTS chk_order_item_quantity_positive CHECK (quantity > 0),
-    ADD CONSTRAINT IF NOT EXISTS chk_order_item_price_non_negative CHECK (price >= 0);
-
-ALTER TABLE order_schema.payment
-    ADD CONSTRAINT IF NOT EXISTS chk_payment_amount_non_negative CHECK (amount >= 0);
---liquibase formatted sql
-
---changeset zham:5
-ALTER TABLE order_schema.orders
-ALTER COLUMN user_id TYPE VARCHAR(255);
\ No newline at end of file
+--changeset copilot:os-constraints-003 splitStatements:false
+-- PostgreSQL не поддерживает ADD CONSTRAINT IF NOT EXISTS, поэтому проверяем pg_constraint
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'chk_orders_total_price_non_negative') THEN
+        ALTER TABLE order_schema.orders
+            ADD CONSTRAINT chk_orders_total_price_non_negative CHECK (total_price >= 0);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'chk_order_item_quantity_positive') THEN
+        ALTER TABLE order_schema.order_item
+            ADD CONSTRAINT chk_order_item_quantity_positive CHECK (quantity > 0);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'chk_order_item_price_non_negative') THEN
+        ALTER TABLE order_schema.order_item
+            ADD CONSTRAINT chk_order_item_price_non_negative CHECK (price >= 0);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'chk_payment_amount_non_negative') THEN
+        ALTER TABLE order_schema.payment
+            ADD CONSTRAINT chk_payment_amount_non_negative CHECK (amount >= 0);
+    END IF;
+END $$;
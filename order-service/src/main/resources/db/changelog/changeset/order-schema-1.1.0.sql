@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset zham:7
+-- Transactional outbox: events are written together with the order and relayed to Kafka asynchronously
+CREATE TABLE IF NOT EXISTS order_schema.outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset zham:8
+-- Keyset pagination on (order_date DESC, id DESC) for GET /api/orders, with and without filters
+CREATE INDEX IF NOT EXISTS idx_orders_order_date_id ON order_schema.orders (order_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_user_order_date_id ON order_schema.orders (user_id, order_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_order_date_id ON order_schema.orders (status, order_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_restaurant_order_date_id ON order_schema.orders (restaurant_id, order_date DESC, id DESC);
+
+-- Covered by the composite indexes above
+DROP INDEX IF EXISTS order_schema.idx_orders_user_id;
+DROP INDEX IF EXISTS order_schema.idx_orders_restaurant_id;
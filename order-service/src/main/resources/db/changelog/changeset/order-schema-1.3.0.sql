@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset zham:9
+-- Analytics GROUP BY queries over an order_date range read only this index (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_orders_order_date_analytics
+    ON order_schema.orders (order_date) INCLUDE (status, total_price, restaurant_id);
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset zham:10
+-- Hourly rollup for analytics: one row per restaurant, hour and status
+CREATE TABLE IF NOT EXISTS order_schema.order_stats_hourly (
+    restaurant_id BIGINT NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    total_price BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (restaurant_id, bucket_start, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_stats_hourly_bucket
+    ON order_schema.order_stats_hourly (bucket_start) INCLUDE (status, order_count, total_price);
+
+--changeset zham:11
+-- Backfill from existing orders; from now on rows are updated together with the orders
+INSERT INTO order_schema.order_stats_hourly (restaurant_id, bucket_start, status, order_count, total_price)
+SELECT restaurant_id, date_trunc('hour', order_date), status, count(*), coalesce(sum(total_price), 0)
+FROM order_schema.orders
+GROUP BY restaurant_id, date_trunc('hour', order_date), status
+ON CONFLICT (restaurant_id, bucket_start, status) DO NOTHING;
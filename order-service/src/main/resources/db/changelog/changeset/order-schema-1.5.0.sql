@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset zham:12
+-- Hibernate now allocates ids from these sequences in blocks of 50 (pooled optimizer),
+-- which lets it batch INSERTs. Column defaults keep working for manual inserts.
+ALTER SEQUENCE order_schema.orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_schema.order_item_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_schema.payment_id_seq INCREMENT BY 50;
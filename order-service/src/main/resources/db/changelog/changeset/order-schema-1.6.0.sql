@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset zham:13
+-- Kafka record key chosen when the event is written (orderId or restaurantId, see order.kafka.key-strategy)
+ALTER TABLE order_schema.outbox
+    ADD COLUMN IF NOT EXISTS message_key VARCHAR(255);
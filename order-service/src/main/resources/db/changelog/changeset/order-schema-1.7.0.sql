@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset zham:14
+-- Optimistic locking for status transitions: UPDATE ... WHERE id = ? AND version = ?
+ALTER TABLE order_schema.orders
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset zham:15
+-- Idempotency-Key for POST /api/orders: sha-256 of (user, key) -> order; rows older than order.idempotency.ttl are purged
+CREATE TABLE IF NOT EXISTS order_schema.idempotency_key (
+    key_hash     CHAR(64)  PRIMARY KEY,
+    request_hash CHAR(64)  NOT NULL,
+    order_id     BIGINT,
+    created_at   TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON order_schema.idempotency_key (created_at);
@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset zham:16
+-- Payment reconciliation against gateway settlement files: one row per run, one per mismatching line
+CREATE TABLE IF NOT EXISTS order_schema.reconciliation_run (
+    id            BIGSERIAL PRIMARY KEY,
+    source        VARCHAR(255) NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    started_at    TIMESTAMP    NOT NULL,
+    finished_at   TIMESTAMP,
+    lines_read    BIGINT       NOT NULL DEFAULT 0,
+    matched       BIGINT       NOT NULL DEFAULT 0,
+    discrepancies BIGINT       NOT NULL DEFAULT 0,
+    error         VARCHAR(1000)
+);
+
+CREATE TABLE IF NOT EXISTS order_schema.reconciliation_discrepancy (
+    id               BIGSERIAL PRIMARY KEY,
+    run_id           BIGINT      NOT NULL REFERENCES order_schema.reconciliation_run (id) ON DELETE CASCADE,
+    line_number      BIGINT      NOT NULL,
+    payment_id       BIGINT,
+    type             VARCHAR(30) NOT NULL,
+    settled_amount   INTEGER,
+    payment_amount   INTEGER,
+    settled_status   VARCHAR(30),
+    payment_status   VARCHAR(30)
+);
+CREATE INDEX IF NOT EXISTS idx_reconciliation_discrepancy_run ON order_schema.reconciliation_discrepancy (run_id, id);
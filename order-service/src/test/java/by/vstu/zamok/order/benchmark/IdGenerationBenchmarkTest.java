@@ -0,0 +1,131 @@
+package by.vstu.zamok.order.benchmark;
+
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderItem;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.entity.Payment;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Inserts per second for large orders: IDENTITY ids (the old mapping, see {@link IdentityOrder})
+ * against the pooled sequences used by {@link Order}. One order per transaction, as in placeOrder.
+ * <p>
+ * Disabled by default:
+ * {@code mvn test -Dtest=IdGenerationBenchmarkTest -Dbenchmark=true [-Dbenchmark.orders=200 -Dbenchmark.items=50]}.
+ * In-memory H2 hides the network round-trips that IDENTITY costs on PostgreSQL, so the gap
+ * measured here is a lower bound.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGenerationBenchmarkTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 200);
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 50);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void identityVsPooledSequence() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // прогрев: JIT, пул соединений, кэш планов
+        run(tx, IdGenerationBenchmarkTest::identityOrder, ORDERS / 4);
+        run(tx, IdGenerationBenchmarkTest::sequenceOrder, ORDERS / 4);
+
+        double identity = run(tx, IdGenerationBenchmarkTest::identityOrder, ORDERS);
+        double sequence = run(tx, IdGenerationBenchmarkTest::sequenceOrder, ORDERS);
+
+        log.info(String.format("%d orders x %d items, rows/s: IDENTITY %.0f, pooled SEQUENCE %.0f (x%.2f)",
+                ORDERS, ITEMS, identity, sequence, sequence / identity));
+    }
+
+    private double run(TransactionTemplate tx, Supplier<Object> orderFactory, int orders) {
+        long rows = (long) orders * (ITEMS + 2);
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            tx.executeWithoutResult(status -> entityManager.persist(orderFactory.get()));
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static Object identityOrder() {
+        IdentityOrder order = new IdentityOrder();
+        order.setStatus(OrderStatus.PENDING.name());
+        order.setOrderDate(LocalDateTime.now());
+        order.setUserId(1L);
+        order.setRestaurantId(1L);
+        order.setTotalPrice(ITEMS * 100);
+
+        List<IdentityOrderItem> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            IdentityOrderItem item = new IdentityOrderItem();
+            item.setOrder(order);
+            item.setDishId((long) i);
+            item.setQuantity(1);
+            item.setPrice(100);
+            items.add(item);
+        }
+        order.setOrderItems(items);
+
+        IdentityPayment payment = new IdentityPayment();
+        payment.setMethod("CARD");
+        payment.setAmount(order.getTotalPrice());
+        payment.setStatus("COMPLETED");
+        payment.setOrder(order);
+        order.setPayment(payment);
+        return order;
+    }
+
+    private static Object sequenceOrder() {
+        Order order = new Order();
+        order.setStatus(OrderStatus.PENDING);
+        order.setOrderDate(LocalDateTime.now());
+        order.setUserId(1L);
+        order.setRestaurantId(1L);
+        order.setTotalPrice(ITEMS * 100);
+
+        List<OrderItem> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setDishId((long) i);
+            item.setQuantity(1);
+            item.setPrice(100);
+            items.add(item);
+        }
+        order.setOrderItems(items);
+
+        Payment payment = new Payment();
+        payment.setMethod("CARD");
+        payment.setAmount(order.getTotalPrice());
+        payment.setStatus("COMPLETED");
+        payment.setOrder(order);
+        order.setPayment(payment);
+        return order;
+    }
+}
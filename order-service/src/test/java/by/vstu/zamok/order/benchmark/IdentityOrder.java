@@ -0,0 +1,42 @@
+package by.vstu.zamok.order.benchmark;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Copy of {@code Order} with the old IDENTITY id mapping, used only as the baseline in
+ * {@link IdGenerationBenchmarkTest}.
+ */
+@Entity
+@Table(name = "orders_identity", schema = "order_bench")
+@Data
+public class IdentityOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "total_price", nullable = false)
+    private Integer totalPrice;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    private List<IdentityOrderItem> orderItems;
+
+    @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
+    private IdentityPayment payment;
+}
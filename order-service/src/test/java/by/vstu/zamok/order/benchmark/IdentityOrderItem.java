@@ -0,0 +1,27 @@
+package by.vstu.zamok.order.benchmark;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "order_item_identity", schema = "order_bench")
+@Data
+public class IdentityOrderItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dish_id", nullable = false)
+    private Long dishId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer price;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private IdentityOrder order;
+}
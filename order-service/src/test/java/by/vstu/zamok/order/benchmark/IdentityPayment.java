@@ -0,0 +1,27 @@
+package by.vstu.zamok.order.benchmark;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "payment_identity", schema = "order_bench")
+@Data
+public class IdentityPayment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String method;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    @Column(nullable = false)
+    private String status;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private IdentityOrder order;
+}
@@ -0,0 +1,48 @@
+package by.vstu.zamok.order.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DishCatalogLoaderTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final DishPriceCatalog catalog = new DishPriceCatalog(new SimpleMeterRegistry());
+
+    private DishCatalogLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new DishCatalogLoader(restTemplate, catalog);
+        ReflectionTestUtils.setField(loader, "restaurantServiceUrl", "http://restaurant");
+        ReflectionTestUtils.setField(loader, "pageSize", 1000);
+    }
+
+    @Test
+    void pagesSmallerThanRequestedDoNotEndTheLoad() {
+        catalog.markLoaded();
+        catalog.apply(new DishPrice(3L, 10L, 300, 0, false));
+        // сервер урезал limit до двух блюд
+        when(restTemplate.getForObject(contains("afterId=0&"), eq(DishPrice[].class))).thenReturn(new DishPrice[]{
+                new DishPrice(1L, 10L, 100, 0, false), new DishPrice(2L, 10L, 200, 0, false)});
+        when(restTemplate.getForObject(contains("afterId=2&"), eq(DishPrice[].class))).thenReturn(new DishPrice[]{
+                new DishPrice(3L, 10L, 300, 0, false)});
+        when(restTemplate.getForObject(contains("afterId=3&"), eq(DishPrice[].class))).thenReturn(new DishPrice[0]);
+
+        loader.reload();
+
+        Map<Long, DishPrice> loaded = catalog.snapshot();
+        assertEquals(3, loaded.size());
+        assertEquals(300, catalog.require(3L, 10L).price());
+    }
+}
@@ -0,0 +1,65 @@
+package by.vstu.zamok.order.catalog;
+
+import by.vstu.zamok.order.exception.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DishPriceCatalogTest {
+
+    private DishPriceCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new DishPriceCatalog(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rejectsPricingUntilLoaded() {
+        catalog.apply(new DishPrice(1L, 10L, 250, 0, false));
+
+        assertThrows(DishCatalogUnavailableException.class, () -> catalog.require(1L, 10L));
+    }
+
+    @Test
+    void keepsHighestVersion() {
+        catalog.markLoaded();
+        catalog.apply(new DishPrice(1L, 10L, 300, 2, false));
+        // запоздавшая страница bulk-загрузки не откатывает цену
+        catalog.apply(new DishPrice(1L, 10L, 250, 1, false));
+
+        assertEquals(300, catalog.require(1L, 10L).price());
+    }
+
+    @Test
+    void tombstoneAndForeignRestaurantAreRejected() {
+        catalog.markLoaded();
+        catalog.apply(new DishPrice(1L, 10L, 300, 0, false));
+        catalog.apply(new DishPrice(2L, 10L, 100, 0, false));
+        catalog.apply(new DishPrice(1L, 10L, 300, 1, true));
+
+        assertThrows(InvalidRequestException.class, () -> catalog.require(1L, 10L));
+        assertThrows(InvalidRequestException.class, () -> catalog.require(2L, 20L));
+    }
+
+    @Test
+    void reloadDropsMissingDishesUnlessChangedMeanwhile() {
+        catalog.markLoaded();
+        catalog.apply(new DishPrice(1L, 10L, 100, 0, false));
+        catalog.apply(new DishPrice(2L, 10L, 200, 0, false));
+        Map<Long, DishPrice> before = catalog.snapshot();
+
+        // во время перезагрузки пришло событие по блюду 2
+        catalog.apply(new DishPrice(2L, 10L, 220, 1, false));
+        catalog.retainLoaded(before, Set.of());
+
+        assertThrows(InvalidRequestException.class, () -> catalog.require(1L, 10L));
+        assertEquals(220, catalog.require(2L, 10L).price());
+    }
+}
@@ -0,0 +1,28 @@
+package by.vstu.zamok.order.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusTest {
+
+    @Test
+    void movesForwardOneStepAtATime() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.ACCEPTED));
+        assertTrue(OrderStatus.COOKING.canTransitionTo(OrderStatus.READY_FOR_DELIVERY));
+        assertTrue(OrderStatus.DELIVERING.canTransitionTo(OrderStatus.COMPLETED));
+
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.COOKING));
+        assertFalse(OrderStatus.COOKING.canTransitionTo(OrderStatus.ACCEPTED));
+        assertFalse(OrderStatus.COOKING.canTransitionTo(OrderStatus.COOKING));
+    }
+
+    @Test
+    void finalStatusesHaveNoTransitions() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertTrue(status.isFinal() == status.next().isEmpty(), status.name());
+            assertTrue(status.isFinal() || status.canTransitionTo(OrderStatus.CANCELLED), status.name());
+        }
+    }
+}
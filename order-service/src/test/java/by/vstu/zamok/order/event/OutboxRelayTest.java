@@ -0,0 +1,89 @@
+package by.vstu.zamok.order.event;
+
+import by.vstu.zamok.order.entity.OutboxEvent;
+import by.vstu.zamok.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, kafkaTemplate, new ObjectMapper(),
+                new SimpleMeterRegistry(), mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(relay, "batchSize", 200);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+    }
+
+    @Test
+    void failedEventHoldsBackLaterEventsOfItsAggregateOnly() {
+        OutboxEvent first = event(1L, 1L, "a");
+        OutboxEvent second = event(2L, 1L, "b");
+        OutboxEvent other = event(3L, 2L, "c");
+        when(outboxEventRepository.findBatch(200)).thenReturn(List.of(first, second, other));
+        when(kafkaTemplate.send(anyString(), eq("a"), any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(anyString(), eq("c"), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate, never()).send(anyString(), eq("b"), any());
+        verify(outboxEventRepository).deleteAllInBatch(List.of(other));
+    }
+
+    @Test
+    void nextEventOfAggregateIsSentOnlyAfterPreviousIsAcknowledged() {
+        OutboxEvent first = event(1L, 1L, "a");
+        OutboxEvent second = event(2L, 1L, "b");
+        when(outboxEventRepository.findBatch(200)).thenReturn(List.of(first, second));
+        CompletableFuture<SendResult<String, Object>> firstSend = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), eq("a"), any())).thenReturn(firstSend);
+        // брокер подтверждает отправку только на flush
+        doAnswer(invocation -> firstSend.complete(null)).when(kafkaTemplate).flush();
+        when(kafkaTemplate.send(anyString(), eq("b"), any())).thenAnswer(invocation -> {
+            assertThat(firstSend).isDone();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate).send(anyString(), eq("b"), any());
+        verify(outboxEventRepository).deleteAllInBatch(List.of(first, second));
+    }
+
+    private static OutboxEvent event(long id, long orderId, String key) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateType("Order");
+        event.setAggregateId(orderId);
+        event.setTopic("order-status-changed");
+        event.setMessageKey(key);
+        event.setEventType(OrderStatusChangedEvent.class.getName());
+        event.setPayload("{\"orderId\":" + orderId + ",\"status\":\"ACCEPTED\"}");
+        return event;
+    }
+}
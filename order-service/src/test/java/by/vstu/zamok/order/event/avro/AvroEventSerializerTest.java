@@ -0,0 +1,77 @@
+package by.vstu.zamok.order.event.avro;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.event.OrderCreatedEvent;
+import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AvroEventSerializerTest {
+
+    @Test
+    void roundTripsOrderEvents() {
+        EventSchemaRegistry registry = EventSchemaRegistry.fromClasspath();
+        AvroEventSerializer serializer = new AvroEventSerializer(registry, EventCodecs.orderEvents());
+        AvroEventDeserializer deserializer = new AvroEventDeserializer(registry, EventCodecs.orderEvents());
+
+        OrderCreatedEvent created = new OrderCreatedEvent(42L, 7L);
+        OrderStatusChangedEvent changed = new OrderStatusChangedEvent(42L, OrderStatus.COOKING, 7L);
+
+        assertEquals(created, deserializer.deserialize("order-created", serializer.serialize("order-created", created)));
+        assertEquals(changed, deserializer.deserialize("order-status-changed", serializer.serialize("order-status-changed", changed)));
+    }
+
+    @Test
+    void roundTripsFullOrderCreatedEvent() {
+        EventSchemaRegistry registry = EventSchemaRegistry.fromClasspath();
+        OrderCreatedEvent created = new OrderCreatedEvent(OrderCreatedEvent.CURRENT_VERSION, 42L, 7L, 3L,
+                OrderStatus.PENDING, List.of(new OrderCreatedEvent.Item(11L, 2, 250), new OrderCreatedEvent.Item(12L, 1, 400)),
+                900, "CARD", "COMPLETED", LocalDateTime.of(2024, 5, 1, 12, 30, 15), Instant.ofEpochMilli(1_714_566_615_123L));
+
+        byte[] bytes = new AvroEventSerializer(registry, EventCodecs.orderEvents()).serialize("order-created", created);
+
+        assertEquals(created, new AvroEventDeserializer(registry, EventCodecs.orderEvents()).deserialize("order-created", bytes));
+    }
+
+    @Test
+    void readsLegacyOrderCreatedEventWithCurrentSchema() {
+        EventSchemaRegistry classpath = EventSchemaRegistry.fromClasspath();
+        // продюсер ещё на v1
+        EventSchemaRegistry legacy = new EventSchemaRegistry();
+        legacy.register("OrderCreatedEvent", 1, classpath.version("OrderCreatedEvent", 1));
+        byte[] v1 = new AvroEventSerializer(legacy, List.of(new OrderCreatedEventCodec()))
+                .serialize("order-created", new OrderCreatedEvent(1L, 2L));
+
+        Object event = new AvroEventDeserializer(classpath, EventCodecs.orderEvents()).deserialize("order-created", v1);
+
+        assertEquals(new OrderCreatedEvent(1L, 2L), event);
+    }
+
+    @Test
+    void readsRecordsWrittenWithOlderSchemaVersion() {
+        EventSchemaRegistry producerRegistry = EventSchemaRegistry.fromClasspath();
+        byte[] v1 = new AvroEventSerializer(producerRegistry, EventCodecs.orderEvents())
+                .serialize("order-created", new OrderCreatedEvent(1L, 2L));
+
+        // у потребителя уже есть следующая версия с новым необязательным полем
+        EventSchemaRegistry consumerRegistry = EventSchemaRegistry.fromClasspath();
+        Schema v2 = SchemaBuilder.record("OrderCreatedEvent").namespace("by.vstu.zamok.order.event").fields()
+                .requiredLong("orderId")
+                .requiredLong("userId")
+                .name("comment").type().stringType().stringDefault("")
+                .endRecord();
+        consumerRegistry.register("OrderCreatedEvent", 99, v2);
+
+        Object event = new AvroEventDeserializer(consumerRegistry, List.of(new OrderCreatedEventCodec()))
+                .deserialize("order-created", v1);
+
+        assertEquals(new OrderCreatedEvent(1L, 2L), event);
+    }
+}
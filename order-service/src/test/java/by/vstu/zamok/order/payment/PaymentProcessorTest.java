@@ -0,0 +1,111 @@
+package by.vstu.zamok.order.payment;
+
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.entity.Payment;
+import by.vstu.zamok.order.entity.PaymentStatus;
+import by.vstu.zamok.order.event.OrderEventPublisher;
+import by.vstu.zamok.order.event.PaymentStatusChangedEvent;
+import by.vstu.zamok.order.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentProcessorTest {
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentGateway paymentGateway = mock(PaymentGateway.class);
+    private final OrderEventPublisher orderEventPublisher = mock(OrderEventPublisher.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PaymentProcessor processor;
+    private Order order;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        processor = new PaymentProcessor(paymentRepository, paymentGateway, orderEventPublisher, transactionTemplate,
+                new SyncTaskExecutor(), new PaymentProcessingProperties(), meterRegistry);
+
+        order = new Order();
+        order.setId(10L);
+        order.setUserId(3L);
+        Payment payment = new Payment();
+        payment.setId(5L);
+        payment.setMethod("CARD");
+        payment.setAmount(300);
+        payment.setStatus(PaymentStatus.PENDING.name());
+        payment.setOrder(order);
+        when(paymentRepository.findWithOrderById(5L)).thenReturn(Optional.of(payment));
+    }
+
+    @Test
+    void approvedPaymentCompletesAndPublishes() {
+        when(paymentGateway.charge(any())).thenReturn(PaymentGatewayResult.success());
+        when(paymentRepository.completePending(5L, "COMPLETED")).thenReturn(1);
+
+        processor.submit(5L);
+
+        verify(orderEventPublisher).publish(any(), eq(order),
+                eq(new PaymentStatusChangedEvent(10L, 5L, "COMPLETED", 3L, null)));
+        assertEquals(1, meterRegistry.counter("order.payment.processed", "result", "completed").count());
+    }
+
+    @Test
+    void alreadyProcessedPaymentPublishesNothing() {
+        when(paymentGateway.charge(any())).thenReturn(PaymentGatewayResult.declined("Insufficient funds"));
+        when(paymentRepository.completePending(5L, "FAILED")).thenReturn(0);
+
+        processor.submit(5L);
+
+        verify(orderEventPublisher, never()).publish(any(), any(), any());
+        assertEquals(0, meterRegistry.counter("order.payment.processed", "result", "failed").count());
+        assertEquals(1, meterRegistry.counter("order.payment.processed", "result", "skipped").count());
+    }
+
+    @Test
+    void paymentOfCancelledOrderIsCancelledNotCharged() {
+        order.setStatus(OrderStatus.CANCELLED);
+        when(paymentRepository.completePending(5L, "CANCELLED")).thenReturn(1);
+
+        processor.submit(5L);
+
+        verify(paymentGateway, never()).charge(any());
+        verify(orderEventPublisher).publish(any(), eq(order),
+                eq(new PaymentStatusChangedEvent(10L, 5L, "CANCELLED", 3L, "Order cancelled")));
+        assertEquals(1, meterRegistry.counter("order.payment.processed", "result", "cancelled").count());
+    }
+
+    @Test
+    void gatewayErrorLeavesPaymentPending() {
+        when(paymentGateway.charge(any())).thenThrow(new IllegalStateException("timeout"));
+
+        processor.submit(5L);
+
+        verify(paymentRepository, never()).completePending(any(), anyString());
+    }
+}
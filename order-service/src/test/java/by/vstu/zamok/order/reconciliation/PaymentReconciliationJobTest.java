@@ -0,0 +1,121 @@
+package by.vstu.zamok.order.reconciliation;
+
+import by.vstu.zamok.order.dto.ReconciliationRunDto;
+import by.vstu.zamok.order.repository.PaymentRepository;
+import by.vstu.zamok.order.repository.PaymentSettlementView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentReconciliationJobTest {
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final ReconciliationRunRepository runRepository = mock(ReconciliationRunRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    @Test
+    void submittedFileIsReconciledOnWorker() {
+        PaymentReconciliationJob job = job(new SyncTaskExecutor());
+        when(paymentRepository.findSettlementViews(any())).thenReturn(List.of(payment(15L, 300, "COMPLETED")));
+
+        job.submit("bank.csv", csv("payment_id,amount,status\n15,300,SETTLED\n16,100,SETTLED\n"));
+
+        verify(runRepository).addChunk(eq(1L), eq(2L), eq(1L), any());
+        verify(runRepository).finish(1L, ReconciliationRunStatus.COMPLETED, null);
+    }
+
+    @Test
+    void runIsFailedWhenWorkerQueueIsFull() {
+        PaymentReconciliationJob job = job(task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        job.submit("bank.csv", csv("15,300,SETTLED\n"));
+
+        verify(runRepository).finish(eq(1L), eq(ReconciliationRunStatus.FAILED), anyString());
+        verify(runRepository, never()).addChunk(any(Long.class), any(Long.class), any(Long.class), any());
+    }
+
+    @Test
+    void parsesSettlementLines() {
+        SettlementLine line = SettlementLine.parse(2, " 15, 300 ,settled");
+
+        assertEquals(new SettlementLine(2, 15L, 300, "SETTLED"), line);
+        assertTrue(SettlementLine.isHeader("payment_id,amount,status"));
+        assertFalse(SettlementLine.isHeader("15,300,SETTLED"));
+        assertThrows(IllegalArgumentException.class, () -> SettlementLine.parse(3, "15,300"));
+        assertThrows(IllegalArgumentException.class, () -> SettlementLine.parse(3, "15,abc,SETTLED"));
+        assertThrows(IllegalArgumentException.class, () -> SettlementLine.parse(3, "15,300,LOST"));
+    }
+
+    @Test
+    void classifiesDiscrepancies() {
+        SettlementLine settled = SettlementLine.parse(1, "15,300,SETTLED");
+
+        assertNull(PaymentReconciliationJob.compare(settled, payment(15L, 300, "COMPLETED")));
+        assertEquals(DiscrepancyType.MISSING_PAYMENT, PaymentReconciliationJob.compare(settled, null).type());
+        assertEquals(DiscrepancyType.AMOUNT_MISMATCH, PaymentReconciliationJob.compare(settled, payment(15L, 250, "COMPLETED")).type());
+        assertEquals(DiscrepancyType.STATUS_MISMATCH, PaymentReconciliationJob.compare(settled, payment(15L, 300, "PENDING")).type());
+    }
+
+    private static PaymentSettlementView payment(Long id, Integer amount, String status) {
+        return new PaymentSettlementView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getAmount() {
+                return amount;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private PaymentReconciliationJob job(TaskExecutor executor) {
+        when(runRepository.start("bank.csv")).thenReturn(1L);
+        when(runRepository.find(1L)).thenReturn(Optional.of(new ReconciliationRunDto()));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        PaymentReconciliationJob job = new PaymentReconciliationJob(paymentRepository, runRepository, transactionTemplate,
+                executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "chunkSize", 1000);
+        return job;
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
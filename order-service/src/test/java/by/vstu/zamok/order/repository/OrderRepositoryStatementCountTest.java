@@ -0,0 +1,136 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.dto.OrderResponseDto;
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderItem;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.entity.Payment;
+import by.vstu.zamok.order.mapper.OrderItemMapperImpl;
+import by.vstu.zamok.order.mapper.OrderMapper;
+import by.vstu.zamok.order.mapper.OrderMapperImpl;
+import by.vstu.zamok.order.mapper.PaymentMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({OrderMapperImpl.class, OrderItemMapperImpl.class, PaymentMapperImpl.class})
+class OrderRepositoryStatementCountTest {
+
+    private static final int ORDERS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ORDERS; i++) {
+            entityManager.persist(order(now.minusMinutes(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageMappingDoesNotIssueQueriesPerOrder() {
+        List<Order> page = orderRepository.findPage(Specification.allOf(), PAGE_SIZE);
+        List<OrderResponseDto> dtos = page.stream().map(orderMapper::toDto).toList();
+
+        assertEquals(PAGE_SIZE, dtos.size());
+        assertTrue(dtos.stream().allMatch(dto -> dto.getItems().size() == 2 && dto.getPayment() != null));
+        // orders + payment in one select, items for the whole page in one batch select
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void detailsByIdIsSingleStatement() {
+        Long id = orderRepository.findPage(Specification.allOf(), 1).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        OrderResponseDto dto = orderMapper.toDto(orderRepository.findWithDetailsById(id).orElseThrow());
+
+        assertEquals(2, dto.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAllBatchesInserts() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(order(now.plusMinutes(i)));
+        }
+
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+
+        assertEquals(ORDERS * 4L, statistics.getEntityInsertCount());
+        // one batched INSERT per table plus a few pooled sequence calls, instead of one INSERT per row
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private static Order order(LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setStatus(OrderStatus.PENDING);
+        order.setOrderDate(orderDate);
+        order.setUserId(1L);
+        order.setRestaurantId(1L);
+        order.setTotalPrice(300);
+        order.setOrderItems(List.of(item(order, 1L, 100), item(order, 2L, 200)));
+
+        Payment payment = new Payment();
+        payment.setMethod("CARD");
+        payment.setAmount(300);
+        payment.setStatus("COMPLETED");
+        payment.setOrder(order);
+        order.setPayment(payment);
+        return order;
+    }
+
+    private static OrderItem item(Order order, Long dishId, int price) {
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setDishId(dishId);
+        item.setQuantity(1);
+        item.setPrice(price);
+        return item;
+    }
+}
@@ -0,0 +1,57 @@
+package by.vstu.zamok.order.repository;
+
+import by.vstu.zamok.order.entity.OrderStatsHourly;
+import by.vstu.zamok.order.entity.OrderStatsHourlyId;
+import by.vstu.zamok.order.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true"
+})
+class OrderStatsHourlyRepositoryTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Autowired
+    private OrderStatsHourlyRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void rowsEmptiedByStatusChangesAreNotReported() {
+        // все заказы часа ушли из PENDING: строка осталась с нулями
+        entityManager.persist(row(1L, OrderStatus.PENDING, 0, 0));
+        entityManager.persist(row(1L, OrderStatus.ACCEPTED, 2, 500));
+        entityManager.persist(row(2L, OrderStatus.ACCEPTED, 1, 100));
+        entityManager.flush();
+
+        List<OrderAggregate> byStatus = repository.aggregateByStatus(HOUR, HOUR.plusHours(1));
+        List<OrderAggregate> byRestaurant = repository.aggregateByRestaurantAndStatus(HOUR, HOUR.plusHours(1));
+
+        assertEquals(1, byStatus.size());
+        assertEquals(OrderStatus.ACCEPTED, byStatus.get(0).getStatus());
+        assertEquals(3, byStatus.get(0).getOrders());
+        assertEquals(600, byStatus.get(0).getAmount());
+        assertEquals(2, byRestaurant.size());
+    }
+
+    private static OrderStatsHourly row(Long restaurantId, OrderStatus status, long orders, long amount) {
+        OrderStatsHourly row = new OrderStatsHourly();
+        row.setId(new OrderStatsHourlyId(restaurantId, HOUR, status));
+        row.setOrderCount(orders);
+        row.setTotalPrice(amount);
+        return row;
+    }
+}
@@ -0,0 +1,112 @@
+package by.vstu.zamok.order.service;
+
+import by.vstu.zamok.order.dto.OrderRequestDto;
+import by.vstu.zamok.order.exception.InvalidRequestException;
+import by.vstu.zamok.order.exception.OrderConflictException;
+import by.vstu.zamok.order.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyKeyStoreTest {
+
+    private static final String KEY = "key-hash";
+    private static final String REQUEST = "request-hash";
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final IdempotencyKeyStore store = new IdempotencyKeyStore(repository, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "ttl", Duration.ofHours(24));
+    }
+
+    @Test
+    void keysAreScopedToCaller() {
+        assertEquals(store.keyHash("user-a", "retry-1"), store.keyHash("user-a", "retry-1"));
+        assertNotEquals(store.keyHash("user-a", "retry-1"), store.keyHash("user-b", "retry-1"));
+        assertEquals(64, store.keyHash("user-a", "retry-1").length());
+    }
+
+    @Test
+    void rejectsBlankAndOversizedKeys() {
+        assertThrows(InvalidRequestException.class, () -> store.keyHash("user-a", " "));
+        assertThrows(InvalidRequestException.class,
+                () -> store.keyHash("user-a", "k".repeat(IdempotencyKeyStore.MAX_KEY_LENGTH + 1)));
+    }
+
+    @Test
+    void sameRequestHasSameFingerprint() {
+        OrderRequestDto first = new OrderRequestDto();
+        first.setRestaurantId(1L);
+        OrderRequestDto retry = new OrderRequestDto();
+        retry.setRestaurantId(1L);
+        OrderRequestDto other = new OrderRequestDto();
+        other.setRestaurantId(2L);
+
+        assertEquals(store.requestHash(first), store.requestHash(retry));
+        assertNotEquals(store.requestHash(first), store.requestHash(other));
+    }
+
+    @Test
+    void newKeyIsClaimedByCaller() {
+        when(repository.find(KEY)).thenReturn(Optional.empty());
+        when(repository.claim(eq(KEY), eq(REQUEST), any(), any())).thenReturn(true);
+
+        assertEquals(Optional.empty(), store.claim(KEY, REQUEST));
+    }
+
+    @Test
+    void committedKeyIsReplayedWithoutClaiming() {
+        when(repository.find(KEY)).thenReturn(Optional.of(
+                new IdempotencyKeyRepository.Entry(REQUEST, 42L, LocalDateTime.now().minusMinutes(5))));
+
+        assertEquals(Optional.of(42L), store.claim(KEY, REQUEST));
+        verify(repository, never()).claim(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsConflict() {
+        when(repository.find(KEY)).thenReturn(Optional.of(
+                new IdempotencyKeyRepository.Entry("other-request", 42L, LocalDateTime.now().minusMinutes(5))));
+
+        assertThrows(OrderConflictException.class, () -> store.claim(KEY, REQUEST));
+    }
+
+    @Test
+    void keyWithoutOrderYetIsConflict() {
+        // параллельный запрос закоммитил ключ, но заказ к нему ещё не привязан
+        when(repository.find(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyKeyRepository.Entry(REQUEST, null, LocalDateTime.now())));
+        when(repository.claim(eq(KEY), eq(REQUEST), any(), any())).thenReturn(false);
+
+        assertThrows(OrderConflictException.class, () -> store.claim(KEY, REQUEST));
+    }
+
+    @Test
+    void expiredKeyIsClaimedAgain() {
+        when(repository.find(KEY)).thenReturn(Optional.of(
+                new IdempotencyKeyRepository.Entry("old-request", 7L, LocalDateTime.now().minusHours(25))));
+        when(repository.claim(eq(KEY), eq(REQUEST), any(), any())).thenReturn(true);
+
+        assertEquals(Optional.empty(), store.claim(KEY, REQUEST));
+        verify(repository).claim(eq(KEY), eq(REQUEST), any(), any());
+    }
+}
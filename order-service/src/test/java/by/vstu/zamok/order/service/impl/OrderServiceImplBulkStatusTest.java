@@ -0,0 +1,135 @@
+package by.vstu.zamok.order.service.impl;
+
+import by.vstu.zamok.order.catalog.DishPriceCatalog;
+import by.vstu.zamok.order.client.UserServiceClient;
+import by.vstu.zamok.order.dto.OrderStatusBatchOutcome;
+import by.vstu.zamok.order.entity.Order;
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.event.OrderEventPublisher;
+import by.vstu.zamok.order.mapper.OrderMapper;
+import by.vstu.zamok.order.payment.PaymentProcessor;
+import by.vstu.zamok.order.payment.PaymentStrategyFactory;
+import by.vstu.zamok.order.repository.OrderRepository;
+import by.vstu.zamok.order.repository.OrderStatsHourlyRepository;
+import by.vstu.zamok.order.repository.OrderStatusBulkRepository;
+import by.vstu.zamok.order.service.IdempotencyKeyStore;
+import by.vstu.zamok.order.service.OrderStatsRecorder;
+import by.vstu.zamok.order.service.OrderStatusBatchItem;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@code updateOrderStatuses} against a mocked {@link OrderStatusBulkRepository}: the
+ * {@code UPDATE ... RETURNING} itself is Postgres-only and not runnable on H2.
+ */
+class OrderServiceImplBulkStatusTest {
+
+    private static final String STATUS_TOPIC = "order-status-changed";
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 5, 1, 12, 15);
+    private static final LocalDateTime BUCKET = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final OrderStatusBulkRepository bulkRepository = mock(OrderStatusBulkRepository.class);
+    private final OrderStatsHourlyRepository statsRepository = mock(OrderStatsHourlyRepository.class);
+    private final OrderEventPublisher orderEventPublisher = mock(OrderEventPublisher.class);
+    private final PaymentProcessor paymentProcessor = mock(PaymentProcessor.class);
+
+    private OrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderServiceImpl(mock(OrderRepository.class), mock(OrderMapper.class), orderEventPublisher,
+                mock(UserServiceClient.class), mock(PaymentStrategyFactory.class), new OrderStatsRecorder(statsRepository),
+                statsRepository, bulkRepository, mock(Validator.class), mock(DishPriceCatalog.class),
+                mock(IdempotencyKeyStore.class), mock(ApplicationEventPublisher.class), paymentProcessor);
+        ReflectionTestUtils.setField(service, "ORDER_STATUS_CHANGED_TOPIC", STATUS_TOPIC);
+    }
+
+    @Test
+    void cancelsFromSeveralStatusesAndReportsEveryIdOnce() {
+        Order first = order(1L, 100, OrderStatus.CANCELLED, 3L);
+        Order second = order(2L, 200, OrderStatus.CANCELLED, 5L);
+        Order third = order(3L, 50, OrderStatus.CANCELLED, 2L);
+        Order completed = order(4L, 70, OrderStatus.COMPLETED, 6L);
+        List<Collection<Long>> queried = new ArrayList<>();
+        when(bulkRepository.transition(anyCollection(), any(), eq(OrderStatus.CANCELLED))).thenAnswer(invocation -> {
+            queried.add(List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+            return switch (invocation.<OrderStatus>getArgument(1)) {
+                case PENDING -> List.of(first, second);
+                case ACCEPTED -> List.of(third);
+                default -> List.of();
+            };
+        });
+        when(bulkRepository.findStatuses(Set.of(4L, 5L))).thenReturn(List.of(completed));
+
+        List<OrderStatusBatchItem> results = service.updateOrderStatuses(List.of(1L, 2L, 3L, 2L, 4L, 5L), OrderStatus.CANCELLED);
+
+        assertEquals(List.of(
+                new OrderStatusBatchItem(1L, OrderStatusBatchOutcome.UPDATED, OrderStatus.CANCELLED, 3L),
+                new OrderStatusBatchItem(2L, OrderStatusBatchOutcome.UPDATED, OrderStatus.CANCELLED, 5L),
+                new OrderStatusBatchItem(3L, OrderStatusBatchOutcome.UPDATED, OrderStatus.CANCELLED, 2L),
+                new OrderStatusBatchItem(4L, OrderStatusBatchOutcome.CONFLICT, OrderStatus.COMPLETED, 6L),
+                new OrderStatusBatchItem(5L, OrderStatusBatchOutcome.NOT_FOUND, null, null)), results);
+        // дубликат не уходит в UPDATE, обновлённые id не запрашиваются повторно
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), queried.get(0));
+        assertEquals(List.of(3L, 4L, 5L), queried.get(1));
+        assertEquals(List.of(4L, 5L), queried.get(2));
+    }
+
+    @Test
+    void publishesOnceAndSumsRollupDeltasPerPreviousStatus() {
+        Order first = order(1L, 100, OrderStatus.CANCELLED, 3L);
+        Order second = order(2L, 200, OrderStatus.CANCELLED, 5L);
+        Order third = order(3L, 50, OrderStatus.CANCELLED, 2L);
+        when(bulkRepository.transition(anyCollection(), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELLED)))
+                .thenReturn(List.of(first, second));
+        when(bulkRepository.transition(anyCollection(), eq(OrderStatus.COOKING), eq(OrderStatus.CANCELLED)))
+                .thenReturn(List.of(third));
+
+        service.updateOrderStatuses(List.of(1L, 2L, 3L), OrderStatus.CANCELLED);
+
+        verify(orderEventPublisher).publishAll(eq(STATUS_TOPIC), eq(List.of(first, second)), any());
+        verify(orderEventPublisher).publishAll(eq(STATUS_TOPIC), eq(List.of(third)), any());
+        verify(orderEventPublisher, times(2)).publishAll(anyString(), any(), any());
+
+        verify(statsRepository).increment(7L, BUCKET, "PENDING", -2, -300);
+        verify(statsRepository).increment(7L, BUCKET, "CANCELLED", 2, 300);
+        verify(statsRepository).increment(7L, BUCKET, "COOKING", -1, -50);
+        verify(statsRepository).increment(7L, BUCKET, "CANCELLED", 1, 50);
+        verify(statsRepository, times(4)).increment(anyLong(), any(), anyString(), anyLong(), anyLong());
+        verify(bulkRepository, never()).findStatuses(any());
+        verify(paymentProcessor).cancelPending(Set.of(1L, 2L, 3L));
+    }
+
+    private static Order order(Long id, int totalPrice, OrderStatus status, Long version) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(11L);
+        order.setRestaurantId(7L);
+        order.setOrderDate(ORDER_DATE);
+        order.setTotalPrice(totalPrice);
+        order.setStatus(status);
+        order.setVersion(version);
+        return order;
+    }
+}
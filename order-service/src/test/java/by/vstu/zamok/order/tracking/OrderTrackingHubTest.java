@@ -0,0 +1,64 @@
+package by.vstu.zamok.order.tracking;
+
+import by.vstu.zamok.order.entity.OrderStatus;
+import by.vstu.zamok.order.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderTrackingHubTest {
+
+    @Test
+    void keepsAtMostConfiguredStreamsPerUser() {
+        OrderTrackingProperties properties = new OrderTrackingProperties();
+        properties.setMaxStreamsPerUser(2);
+        OrderTrackingHub hub = new OrderTrackingHub(properties, new SimpleMeterRegistry());
+
+        hub.subscribe(1L);
+        hub.subscribe(1L);
+        hub.subscribe(1L);
+        hub.subscribe(2L);
+
+        assertEquals(3, hub.openStreams());
+    }
+
+    @Test
+    void dispatchToUserWithoutStreamsIsNoOp() {
+        OrderTrackingHub hub = new OrderTrackingHub(new OrderTrackingProperties(), new SimpleMeterRegistry());
+        hub.subscribe(1L);
+
+        hub.dispatch(new OrderStatusChangedEvent(10L, OrderStatus.COOKING, 2L));
+        hub.dispatch(new OrderStatusChangedEvent(11L, OrderStatus.COOKING));
+        hub.dispatch(new OrderStatusChangedEvent(12L, OrderStatus.COOKING, 1L));
+
+        assertEquals(1, hub.openStreams());
+    }
+
+    @Test
+    void dispatchedEventReachesSubscribedStream() {
+        List<Object> sent = new ArrayList<>();
+        OrderTrackingHub hub = new OrderTrackingHub(new OrderTrackingProperties(), new SimpleMeterRegistry()) {
+            @Override
+            SseEmitter newEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        builder.build().forEach(part -> sent.add(part.getData()));
+                    }
+                };
+            }
+        };
+        hub.subscribe(1L);
+        OrderStatusChangedEvent event = new OrderStatusChangedEvent(10L, OrderStatus.COOKING, 1L);
+
+        hub.dispatch(event);
+
+        assertTrue(sent.contains(event));
+    }
+}
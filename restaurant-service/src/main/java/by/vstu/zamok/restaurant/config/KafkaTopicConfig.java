@@ -0,0 +1,19 @@
+package by.vstu.zamok.restaurant.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Bean
+    public NewTopic dishChangedTopic(@Value("${restaurant.kafka.dish-topic:dish-changed}") String dishTopic) {
+        return TopicBuilder.name(dishTopic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package by.vstu.zamok.restaurant.config;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maps Keycloak {@code realm_access.roles} to {@code ROLE_*} authorities. Malformed claims
+ * (not a map, not a list, non-string entries) yield no roles instead of an error.
+ */
+public class KeycloakRoleConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object realmAccess = jwt.getClaims().get("realm_access");
+        if (!(realmAccess instanceof Map<?, ?> map)) {
+            return List.of();
+        }
+        Object roles = map.get("roles");
+        if (!(roles instanceof Collection<?> coll)) {
+            return List.of();
+        }
+        return coll.stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                .collect(Collectors.toList());
+    }
+}
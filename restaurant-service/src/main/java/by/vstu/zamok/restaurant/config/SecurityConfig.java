@@ -1,26 +1,39 @@
 package by.vstu.zamok.restaurant.config;
 
+import by.vstu.zamok.security.CachingJwtAuthenticationManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.http.HttpMethod;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                                   Cache<String, JwtAuthenticationToken> jwtAuthenticationCache) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -29,30 +42,41 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.GET, "/api/restaurants", "/api/restaurants/*").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/restaurants/search", "/api/restaurants/popular", "/api/restaurants/trending").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/restaurants/*/dishes").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/dishes/catalog").permitAll()
                     .anyRequest().authenticated()
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.authenticationManager(authenticationManager(jwtDecoder, jwtAuthenticationCache))));
         return http.build();
     }
 
+    @Bean
+    public Cache<String, JwtAuthenticationToken> jwtAuthenticationCache(
+            @Value("${security.jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.jwt-cache.max-ttl:5m}") Duration maxTtl,
+            MeterRegistry meterRegistry) {
+        Cache<String, JwtAuthenticationToken> cache = CachingJwtAuthenticationManager.cacheBuilder(maximumSize, maxTtl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtAuthenticationCache");
+    }
+
     @org.springframework.beans.factory.annotation.Value("${security.require-email-verified:true}")
     private boolean requireVerified;
 
+    @Value("${security.jwt-cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    private AuthenticationManager authenticationManager(JwtDecoder jwtDecoder, Cache<String, JwtAuthenticationToken> cache) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        AuthenticationManager manager = new ProviderManager(provider);
+        return jwtCacheEnabled ? new CachingJwtAuthenticationManager(manager, cache) : manager;
+    }
+
     private Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter() {
         JwtAuthenticationConverter delegate = new JwtAuthenticationConverter();
         // Подхват ролей realm_access (Keycloak) для @PreAuthorize
-        delegate.setJwtGrantedAuthoritiesConverter(jwt -> {
-            Object realmAccess = jwt.getClaims().get("realm_access");
-            if (!(realmAccess instanceof java.util.Map<?, ?> map)) return java.util.List.of();
-            Object roles = map.get("roles");
-            if (!(roles instanceof java.util.Collection<?> coll)) return java.util.List.of();
-            return coll.stream()
-                    .filter(String.class::isInstance)
-                    .map(String.class::cast)
-                .map(r -> (org.springframework.security.core.GrantedAuthority)
-                    new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + r.toUpperCase()))
-                .collect(java.util.stream.Collectors.toList());
-        });
+        delegate.setJwtGrantedAuthoritiesConverter(new KeycloakRoleConverter());
         return jwt -> {
             if (requireVerified) {
                 Boolean verified = jwt.getClaim("email_verified");
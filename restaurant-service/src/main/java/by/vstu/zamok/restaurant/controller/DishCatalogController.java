@@ -0,0 +1,27 @@
+package by.vstu.zamok.restaurant.controller;
+
+import by.vstu.zamok.restaurant.dto.DishCatalogEntryDto;
+import by.vstu.zamok.restaurant.service.DishService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Prices of all dishes, paged by id. Used by other services to bulk-load their price replica.
+ */
+@RestController
+@RequestMapping("/api/dishes")
+@AllArgsConstructor
+public class DishCatalogController {
+    private final DishService dishService;
+
+    @GetMapping("/catalog")
+    public List<DishCatalogEntryDto> getCatalog(@RequestParam(defaultValue = "0") long afterId,
+                                                @RequestParam(defaultValue = "1000") int limit) {
+        return dishService.findCatalogPage(afterId, limit);
+    }
+}
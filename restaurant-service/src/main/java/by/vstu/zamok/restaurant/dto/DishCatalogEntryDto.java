@@ -0,0 +1,15 @@
+package by.vstu.zamok.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DishCatalogEntryDto {
+    private Long dishId;
+    private Long restaurantId;
+    private int price;
+    private long version;
+}
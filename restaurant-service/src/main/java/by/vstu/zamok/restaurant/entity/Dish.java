@@ -1,10 +1,12 @@
 package by.vstu.zamok.restaurant.entity;
 
 import jakarta.persistence.*;
+import by.vstu.zamok.restaurant.event.DishEntityListener;
 import lombok.Data;
 
 @Entity
 @Table(name = "dish", schema = "restaurant_schema")
+@EntityListeners(DishEntityListener.class)
 @Data
 public class Dish {
 
@@ -19,6 +21,10 @@ public class Dish {
     @Column(name = "image_url")
     private String imageUrl;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
@@ -0,0 +1,8 @@
+package by.vstu.zamok.restaurant.event;
+
+/**
+ * Published to Kafka after a dish is created, updated or deleted. {@code version} grows with
+ * every change of the dish, so consumers can ignore events older than what they already hold.
+ */
+public record DishChangedEvent(Long dishId, Long restaurantId, int price, long version, boolean deleted) {
+}
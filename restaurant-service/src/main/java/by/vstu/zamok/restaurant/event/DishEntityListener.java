@@ -0,0 +1,35 @@
+package by.vstu.zamok.restaurant.event;
+
+import by.vstu.zamok.restaurant.entity.Dish;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catches every dish change, including ones cascaded from {@code Restaurant},
+ * and hands it to {@link DishEventPublisher} as an application event.
+ */
+@Component
+@AllArgsConstructor
+public class DishEntityListener {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Dish dish) {
+        applicationEventPublisher.publishEvent(toEvent(dish, dish.getVersion(), false));
+    }
+
+    @PostRemove
+    public void removed(Dish dish) {
+        // Удаление старше любой версии блюда
+        applicationEventPublisher.publishEvent(toEvent(dish, dish.getVersion() + 1, true));
+    }
+
+    private static DishChangedEvent toEvent(Dish dish, long version, boolean deleted) {
+        return new DishChangedEvent(dish.getId(), dish.getRestaurant().getId(), dish.getPrice(), version, deleted);
+    }
+}
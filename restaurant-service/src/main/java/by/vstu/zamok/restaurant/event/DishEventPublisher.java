@@ -0,0 +1,34 @@
+package by.vstu.zamok.restaurant.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends dish changes to Kafka once the transaction has committed. The dish id is the key,
+ * so all changes of one dish stay in order within a partition. A lost send is healed by
+ * consumers' periodic reload of {@code GET /api/dishes/catalog}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DishEventPublisher {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${restaurant.kafka.dish-topic:dish-changed}")
+    private String dishTopic;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDishChanged(DishChangedEvent event) {
+        kafkaTemplate.send(dishTopic, String.valueOf(event.dishId()), event)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to publish change of dish {}", event.dishId(), e);
+                    }
+                });
+    }
+}
@@ -4,6 +4,7 @@ import by.vstu.zamok.restaurant.dto.DishDto;
 import by.vstu.zamok.restaurant.entity.Dish;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface DishMapper {
@@ -12,5 +13,11 @@ public interface DishMapper {
     DishDto toDto(Dish dish);
 
     @Mapping(source = "restaurantId", target = "restaurant.id")
+    @Mapping(target = "version", ignore = true)
     Dish toEntity(DishDto dishDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "restaurant", ignore = true)
+    void updateEntity(DishDto dishDto, @MappingTarget Dish dish);
 }
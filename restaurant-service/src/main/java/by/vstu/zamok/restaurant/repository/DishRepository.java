@@ -1,10 +1,18 @@
 package by.vstu.zamok.restaurant.repository;
 
+import by.vstu.zamok.restaurant.dto.DishCatalogEntryDto;
 import by.vstu.zamok.restaurant.entity.Dish;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface DishRepository extends JpaRepository<Dish, Long> {
     List<Dish> findByRestaurantId(Long restaurantId);
+
+    @Query("select new by.vstu.zamok.restaurant.dto.DishCatalogEntryDto(d.id, d.restaurant.id, d.price, d.version) " +
+            "from Dish d where d.id > :afterId order by d.id")
+    List<DishCatalogEntryDto> findCatalogPage(@Param("afterId") long afterId, Limit limit);
 }
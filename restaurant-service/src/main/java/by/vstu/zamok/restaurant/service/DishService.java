@@ -1,11 +1,16 @@
 package by.vstu.zamok.restaurant.service;
 
+import by.vstu.zamok.restaurant.dto.DishCatalogEntryDto;
 import by.vstu.zamok.restaurant.dto.DishDto;
 import by.vstu.zamok.restaurant.entity.Dish;
+import by.vstu.zamok.restaurant.exception.ResourceNotFoundException;
 import by.vstu.zamok.restaurant.mapper.DishMapper;
 import by.vstu.zamok.restaurant.repository.DishRepository;
+import by.vstu.zamok.restaurant.repository.RestaurantRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,8 +18,11 @@ import java.util.stream.Collectors;
 @Service
 @AllArgsConstructor
 public class DishService {
+    private static final int MAX_CATALOG_PAGE = 5000;
+
     private final DishRepository dishRepository;
     private final DishMapper dishMapper;
+    private final RestaurantRepository restaurantRepository;
 
     public List<DishDto> findAll() {
         return dishRepository.findAll().stream().map(dishMapper::toDto).collect(Collectors.toList());
@@ -28,11 +36,26 @@ public class DishService {
         return dishRepository.findById(id).map(dishMapper::toDto).orElse(null);
     }
 
+    public List<DishCatalogEntryDto> findCatalogPage(long afterId, int limit) {
+        return dishRepository.findCatalogPage(afterId, Limit.of(Math.max(1, Math.min(limit, MAX_CATALOG_PAGE))));
+    }
+
+    @Transactional
     public DishDto save(DishDto dishDto) {
-        Dish dish = dishMapper.toEntity(dishDto);
-        return dishMapper.toDto(dishRepository.save(dish));
+        if (dishDto.getId() == null) {
+            return dishMapper.toDto(dishRepository.save(dishMapper.toEntity(dishDto)));
+        }
+        // Обновляем загруженную сущность, чтобы @Version увеличился, а не конфликтовал
+        Dish dish = dishRepository.findById(dishDto.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Dish not found: " + dishDto.getId()));
+        dishMapper.updateEntity(dishDto, dish);
+        if (!dish.getRestaurant().getId().equals(dishDto.getRestaurantId())) {
+            dish.setRestaurant(restaurantRepository.getReferenceById(dishDto.getRestaurantId()));
+        }
+        return dishMapper.toDto(dishRepository.saveAndFlush(dish));
     }
 
+    @Transactional
     public void deleteById(Long id) {
         dishRepository.deleteById(id);
     }
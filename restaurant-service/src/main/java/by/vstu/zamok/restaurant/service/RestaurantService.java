@@ -10,6 +10,7 @@ import by.vstu.zamok.restaurant.repository.RestaurantRatingRepository;
 import by.vstu.zamok.restaurant.repository.RestaurantRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,12 +33,14 @@ public class RestaurantService {
         return restaurantMapper.toDto(entity);
     }
 
+    @Transactional
     public RestaurantDto update(Long id, RestaurantDto restaurant) {
-        if (!restaurantRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Restaurant not found: " + id);
-        }
-        Restaurant entity = restaurantMapper.toEntity(restaurant);
-        entity.setId(id);
+        Restaurant entity = restaurantRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found: " + id));
+        // Блюда меняются только через /dishes: их версии ведёт DishService
+        entity.setName(restaurant.getName());
+        entity.setCuisine(restaurant.getCuisine());
+        entity.setAddress(restaurant.getAddress());
         return restaurantMapper.toDto(restaurantRepository.save(entity));
     }
 
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset zham:4
+-- Optimistic version of a dish; consumers of dish-changed events use it to drop stale updates
+ALTER TABLE restaurant_schema.dish
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -6,8 +6,6 @@ import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 
 @Configuration
 @EnableConfigurationProperties(KeycloakProperties.class)
@@ -25,9 +23,4 @@ public class KeycloakAdminClientConfig {
                 .password(props.getAdminPassword())
                 .build();
     }
-
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
-    }
 }
@@ -11,7 +11,9 @@ import by.vstu.zamok.user.repository.RoleRepository;
 import by.vstu.zamok.user.repository.UserRepository;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
@@ -36,10 +38,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class KeycloakAuthService {
 
+    /** Keycloak user attribute mapped to the {@code user_id} access token claim */
+    static final String USER_ID_ATTRIBUTE = "user_id";
+
     private final KeycloakProperties props;
     private final Keycloak keycloakAdminClient;
     private final RestTemplate restTemplate;
@@ -127,12 +133,28 @@ public class KeycloakAuthService {
             user.setRoles(Set.of(roleUser));
 
             User saved = userRepository.save(user);
+
+            // 5) Expose the local id as a token claim so other services can skip the by-keycloak-id lookup
+            publishUserIdAttribute(realm, keycloakUserId, saved.getId());
+
             return userMapper.toDto(saved);
         } finally {
             response.close();
         }
     }
 
+    private void publishUserIdAttribute(String realm, String keycloakUserId, Long userId) {
+        try {
+            UserResource userResource = keycloakAdminClient.realm(realm).users().get(keycloakUserId);
+            UserRepresentation current = userResource.toRepresentation();
+            current.singleAttribute(USER_ID_ATTRIBUTE, String.valueOf(userId));
+            userResource.update(current);
+        } catch (Exception e) {
+            // Not fatal: consumers fall back to GET /api/users/by-keycloak-id when the claim is absent
+            log.warn("Failed to set {} attribute for user {} (keycloak id {})", USER_ID_ATTRIBUTE, userId, keycloakUserId, e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public Map<String, Object> login(LoginRequest request) {
         String tokenUrl = props.getBaseUrl() + "/realms/" + props.getRealm() + "/protocol/openid-connect/token";
@@ -0,0 +1,35 @@
+package by.vstu.zamok.user.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "http.client")
+public class HttpClientProperties {
+    /** Max pooled connections across all routes */
+    private int maxTotal = 200;
+
+    /** Default max pooled connections per route (scheme://host:port) */
+    private int maxPerRoute = 50;
+
+    /** Per-route overrides, e.g. http://localhost:8084: 100 */
+    private Map<String, Integer> routes = new HashMap<>();
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Socket/response timeout, so a slow downstream cannot hang request threads */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** How long to wait for a free pooled connection */
+    private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+
+    /** Idle connections are closed after this */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Max lifetime of a pooled connection */
+    private Duration connectionTtl = Duration.ofMinutes(5);
+}
@@ -1,10 +1,17 @@
 package by.vstu.zamok.user.configuration;
 
+import by.vstu.zamok.security.CachingJwtAuthenticationManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,9 +20,14 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -45,18 +57,40 @@ public class SecurityConfig {
 
     @Bean
     @Order(2)
-    public SecurityFilterChain privateEndpointsSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain privateEndpointsSecurityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                                                   Cache<String, JwtAuthenticationToken> jwtAuthenticationCache) throws Exception {
         http
                 .authorizeHttpRequests(authorize -> authorize.anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+                .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt.authenticationManager(authenticationManager(jwtDecoder, jwtAuthenticationCache))))
                 .csrf(csrf -> csrf.disable());
         return http.build();
     }
 
+    @Bean
+    public Cache<String, JwtAuthenticationToken> jwtAuthenticationCache(
+            @Value("${security.jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.jwt-cache.max-ttl:5m}") Duration maxTtl,
+            MeterRegistry meterRegistry) {
+        Cache<String, JwtAuthenticationToken> cache = CachingJwtAuthenticationManager.cacheBuilder(maximumSize, maxTtl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtAuthenticationCache");
+    }
+
     @org.springframework.beans.factory.annotation.Value("${security.require-email-verified:true}")
     private boolean requireVerified;
 
+    @Value("${security.jwt-cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    private AuthenticationManager authenticationManager(JwtDecoder jwtDecoder, Cache<String, JwtAuthenticationToken> cache) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        AuthenticationManager manager = new ProviderManager(provider);
+        return jwtCacheEnabled ? new CachingJwtAuthenticationManager(manager, cache) : manager;
+    }
+
     private Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter() {
         JwtAuthenticationConverter delegate = new JwtAuthenticationConverter();
         // Подхват ролей realm_access (Keycloak) для @PreAuthorize